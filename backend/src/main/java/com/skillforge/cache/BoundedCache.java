@@ -0,0 +1,315 @@
+package com.skillforge.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded, weight-aware in-memory cache with W-TinyLFU eviction.
+ *
+ * New entries land in a small LRU "window" (1% of the capacity). Entries that
+ * fall out of the window compete with the probation LRU victim of the main
+ * area and are only admitted if the frequency sketch says they are requested
+ * more often. Entries hit while on probation are promoted to the protected
+ * segment (80% of the main area). Every entry also expires after a fixed TTL.
+ *
+ * All operations take the cache lock; loaders run outside of it.
+ */
+public final class BoundedCache<K, V> {
+
+    private enum Segment { WINDOW, PROBATION, PROTECTED }
+
+    private static final class Node<K, V> {
+        final K key;
+        V value;
+        int weight;
+        long expiresAt;
+        Segment segment;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key) {
+            this.key = key;
+        }
+    }
+
+    /** Doubly linked access-order list; head is the least recently used entry. */
+    private static final class AccessOrder<K, V> {
+        Node<K, V> head;
+        Node<K, V> tail;
+        long weight;
+
+        void addLast(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            weight += node.weight;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            weight -= node.weight;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (tail != node) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+
+    /** Point-in-time counters of one cache region. */
+    public record Stats(
+            String name,
+            long hits,
+            long misses,
+            double hitRate,
+            long loads,
+            long evictions,
+            long expirations,
+            int size,
+            long weight,
+            long maxWeight
+    ) {}
+
+    private final String name;
+    private final long maxWeight;
+    private final long windowMax;
+    private final long protectedMax;
+    private final long ttlNanos;
+    private final ToIntFunction<V> weigher;
+    private final FrequencySketch sketch;
+
+    private final Map<K, Node<K, V>> data = new HashMap<>();
+    private final AccessOrder<K, V> window = new AccessOrder<>();
+    private final AccessOrder<K, V> probation = new AccessOrder<>();
+    private final AccessOrder<K, V> protectedSegment = new AccessOrder<>();
+
+    // Bumped by every invalidation so that a load racing with a write is not cached
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long loads;
+    private long evictions;
+    private long expirations;
+
+    /** For caches weighed in entries (or close to it): the sketch is sized from maxWeight. */
+    public BoundedCache(String name, long maxWeight, Duration ttl, ToIntFunction<V> weigher) {
+        this(name, maxWeight, maxWeight, ttl, weigher);
+    }
+
+    /**
+     * For caches weighed in bytes or other large units, where maxWeight says nothing
+     * about how many keys the frequency sketch has to tell apart.
+     */
+    public BoundedCache(String name, long maxWeight, long expectedEntries, Duration ttl, ToIntFunction<V> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight must be positive for cache " + name);
+        }
+        this.name = name;
+        this.maxWeight = maxWeight;
+        this.windowMax = Math.max(1, maxWeight / 100);
+        this.protectedMax = (long) ((maxWeight - windowMax) * 0.8);
+        this.ttlNanos = ttl.toNanos();
+        this.weigher = weigher;
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized V getIfPresent(K key) {
+        sketch.increment(key);
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses++;
+            return null;
+        }
+        if (node.expiresAt - System.nanoTime() <= 0) {
+            unlink(node);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        onAccess(node);
+        return node.value;
+    }
+
+    /** Read-through lookup: on a miss the loader runs outside the lock and its result is cached. */
+    public V get(K key, Supplier<V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            V cached = getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+        V value = loader.get();
+        if (value != null) {
+            synchronized (this) {
+                loads++;
+                if (loadGeneration == generation) {
+                    put(key, value);
+                }
+            }
+        }
+        return value;
+    }
+
+    /** Presence check that neither records a hit/miss nor counts as an access. */
+    public synchronized boolean containsKey(K key) {
+        Node<K, V> node = data.get(key);
+        return node != null && node.expiresAt - System.nanoTime() > 0;
+    }
+
+    public synchronized void put(K key, V value) {
+        int weight = Math.max(1, weigher.applyAsInt(value));
+        if (weight > maxWeight) {
+            invalidate(key);
+            return;
+        }
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            AccessOrder<K, V> list = listOf(node.segment);
+            list.weight += weight - node.weight;
+            node.weight = weight;
+            node.value = value;
+            node.expiresAt = System.nanoTime() + ttlNanos;
+            onAccess(node);
+        } else {
+            node = new Node<>(key);
+            node.value = value;
+            node.weight = weight;
+            node.expiresAt = System.nanoTime() + ttlNanos;
+            node.segment = Segment.WINDOW;
+            data.put(key, node);
+            window.addLast(node);
+        }
+        evictIfNeeded();
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    public synchronized void invalidateIf(Predicate<V> predicate) {
+        generation++;
+        List<Node<K, V>> matches = new ArrayList<>();
+        for (Node<K, V> node : data.values()) {
+            if (predicate.test(node.value)) {
+                matches.add(node);
+            }
+        }
+        matches.forEach(this::unlink);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        new ArrayList<>(data.values()).forEach(this::unlink);
+    }
+
+    public synchronized Stats stats() {
+        long requests = hits + misses;
+        return new Stats(name, hits, misses, requests == 0 ? 0.0 : (double) hits / requests,
+                loads, evictions, expirations, data.size(),
+                window.weight + probation.weight + protectedSegment.weight, maxWeight);
+    }
+
+    // ===============================
+    // W-TinyLFU POLICY
+    // ===============================
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.segment) {
+            case WINDOW -> window.moveToLast(node);
+            case PROTECTED -> protectedSegment.moveToLast(node);
+            case PROBATION -> {
+                probation.remove(node);
+                node.segment = Segment.PROTECTED;
+                protectedSegment.addLast(node);
+                // Demote the coldest protected entries back to probation
+                while (protectedSegment.weight > protectedMax && protectedSegment.head != node) {
+                    Node<K, V> demoted = protectedSegment.head;
+                    protectedSegment.remove(demoted);
+                    demoted.segment = Segment.PROBATION;
+                    probation.addLast(demoted);
+                }
+            }
+        }
+    }
+
+    private void evictIfNeeded() {
+        long mainMax = maxWeight - windowMax;
+        while (window.weight > windowMax && window.head != null) {
+            Node<K, V> candidate = window.head;
+            window.remove(candidate);
+            candidate.segment = Segment.PROBATION;
+            probation.addLast(candidate);
+
+            Node<K, V> contender = candidate;
+            while (probation.weight + protectedSegment.weight > mainMax) {
+                Node<K, V> victim = probation.head != null ? probation.head : protectedSegment.head;
+                if (contender != null && victim != contender
+                        && sketch.frequency(contender.key) <= sketch.frequency(victim.key)) {
+                    // The newcomer is not more popular than what it would displace: reject it
+                    victim = contender;
+                }
+                if (victim == contender) {
+                    contender = null;
+                }
+                unlink(victim);
+                evictions++;
+            }
+        }
+        // Re-weighted entries can still push the main area over its share
+        while (window.weight + probation.weight + protectedSegment.weight > maxWeight) {
+            Node<K, V> victim = probation.head != null ? probation.head
+                    : protectedSegment.head != null ? protectedSegment.head : window.head;
+            unlink(victim);
+            evictions++;
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        listOf(node.segment).remove(node);
+        data.remove(node.key);
+    }
+
+    private AccessOrder<K, V> listOf(Segment segment) {
+        return switch (segment) {
+            case WINDOW -> window;
+            case PROBATION -> probation;
+            case PROTECTED -> protectedSegment;
+        };
+    }
+}
@@ -0,0 +1,183 @@
+package com.skillforge.cache;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate second-level cache regions stored in BoundedCache (W-TinyLFU, per-region TTL).
+ *
+ * Region sizes are read from the Hibernate properties, e.g.
+ * hibernate.cache.bounded.course.max-entries / .ttl-seconds, falling back to
+ * hibernate.cache.bounded.default.*. The update-timestamps region is never
+ * bounded: losing a timestamp would let stale query results through.
+ */
+public class BoundedRegionFactory extends RegionFactoryTemplate {
+
+    public static final String PREFIX = "hibernate.cache.bounded.";
+
+    private static final long DEFAULT_MAX_ENTRIES = 10_000;
+    private static final long DEFAULT_TTL_SECONDS = 3_600;
+
+    private final Map<String, BoundedCache<Object, Object>> regions = new ConcurrentHashMap<>();
+    private Map<String, Object> configValues = Map.of();
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        this.configValues = configValues;
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(BoundedCache::invalidateAll);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return new BoundedStorageAccess(region(regionConfig.getRegionName()));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return new BoundedStorageAccess(region(regionName));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        // One entry per table, so a plain map is small enough
+        return new MapStorageAccess();
+    }
+
+    /** Eviction and size counters per region; hit/miss/put counts come from Hibernate's Statistics. */
+    public List<BoundedCache.Stats> stats() {
+        return regions.values().stream().map(BoundedCache::stats).toList();
+    }
+
+    private BoundedCache<Object, Object> region(String name) {
+        return regions.computeIfAbsent(name, key -> new BoundedCache<>(
+                key,
+                setting(key, "max-entries", DEFAULT_MAX_ENTRIES),
+                Duration.ofSeconds(setting(key, "ttl-seconds", DEFAULT_TTL_SECONDS)),
+                value -> 1));
+    }
+
+    private long setting(String region, String name, long fallback) {
+        Object value = configValues.get(PREFIX + region + "." + name);
+        if (value == null) {
+            value = configValues.get(PREFIX + "default." + name);
+        }
+        return value == null ? fallback : Long.parseLong(value.toString().trim());
+    }
+
+    // ===============================
+    // STORAGE ACCESS
+    // ===============================
+
+    private static final class BoundedStorageAccess implements DomainDataStorageAccess {
+
+        private final BoundedCache<Object, Object> cache;
+
+        BoundedStorageAccess(BoundedCache<Object, Object> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return cache.getIfPresent(key);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            cache.put(key, value);
+        }
+
+        @Override
+        public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            cache.invalidate(key);
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            cache.invalidateAll();
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return cache.containsKey(key);
+        }
+
+        @Override
+        public void evictData() {
+            cache.invalidateAll();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            cache.invalidate(key);
+        }
+
+        @Override
+        public void release() {
+            cache.invalidateAll();
+        }
+    }
+
+    private static final class MapStorageAccess implements StorageAccess {
+
+        private final Map<Object, Object> data = new ConcurrentHashMap<>();
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return data.get(key);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            data.put(key, value);
+        }
+
+        @Override
+        public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            data.remove(key);
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            data.clear();
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return data.containsKey(key);
+        }
+
+        @Override
+        public void evictData() {
+            data.clear();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            data.remove(key);
+        }
+
+        @Override
+        public void release() {
+            data.clear();
+        }
+    }
+}
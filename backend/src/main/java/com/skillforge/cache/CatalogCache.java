@@ -0,0 +1,124 @@
+package com.skillforge.cache;
+
+import com.skillforge.event.CatalogChangedEvent;
+import com.skillforge.event.SubjectsImportedEvent;
+import com.skillforge.model.Topic;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for the catalog reads the CatalogSnapshot does not serve: topic
+ * entities (GET /topics/{id}) and instructor summaries.
+ *
+ * Each region has its own capacity (in weight units: 1 per entity plus 1 per list
+ * element) and TTL, configurable as catalog.cache.<region>.max-weight / .ttl.
+ * Entries are invalidated after commit from CatalogChangedEvent, so only the
+ * regions touched by a write are dropped.
+ */
+@Component
+public class CatalogCache {
+
+    public enum Region {
+        TOPIC("topic", 10_000, Duration.ofMinutes(30)),
+        // Short TTL: quiz attempts change these numbers without a catalog event
+        INSTRUCTOR_SUMMARY("instructor-summary", 1_000, Duration.ofSeconds(30));
+
+        private final String key;
+        private final long defaultMaxWeight;
+        private final Duration defaultTtl;
+
+        Region(String key, long defaultMaxWeight, Duration defaultTtl) {
+            this.key = key;
+            this.defaultMaxWeight = defaultMaxWeight;
+            this.defaultTtl = defaultTtl;
+        }
+
+        public String key() {
+            return key;
+        }
+    }
+
+    private final boolean enabled;
+    private final Map<Region, BoundedCache<Object, Object>> regions = new EnumMap<>(Region.class);
+
+    public CatalogCache(Environment env) {
+        this.enabled = env.getProperty("catalog.cache.enabled", Boolean.class, true);
+        for (Region region : Region.values()) {
+            String prefix = "catalog.cache." + region.key;
+            long maxWeight = env.getProperty(prefix + ".max-weight", Long.class, region.defaultMaxWeight);
+            Duration ttl = env.getProperty(prefix + ".ttl", Duration.class, region.defaultTtl);
+            regions.put(region, new BoundedCache<>(region.key, maxWeight, ttl, CatalogCache::weigh));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> V get(Region region, Object key, Supplier<V> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return (V) regions.get(region).get(key, (Supplier<Object>) loader);
+    }
+
+    public void evict(Region region, Object key) {
+        if (key != null) {
+            regions.get(region).invalidate(key);
+        }
+    }
+
+    public void clear() {
+        regions.values().forEach(BoundedCache::invalidateAll);
+    }
+
+    public List<BoundedCache.Stats> stats() {
+        return regions.values().stream().map(BoundedCache::stats).toList();
+    }
+
+    // ===============================
+    // INVALIDATION
+    // ===============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        // The owning instructor is not on the event; summaries are cheap to recompute
+        regions.get(Region.INSTRUCTOR_SUMMARY).invalidateAll();
+        switch (event.type()) {
+            // Topic entities embed their subject and course
+            case COURSE -> regions.get(Region.TOPIC).invalidateIf(topic -> belongsToCourse(topic, event.id()));
+            case SUBJECT -> regions.get(Region.TOPIC).invalidateIf(topic -> belongsToSubject(topic, event.id()));
+            case TOPIC -> evict(Region.TOPIC, event.id());
+            case MATERIAL -> {
+                // Materials are not part of any cached region
+            }
+        }
+    }
+
+    // New subjects have no topics yet: only the instructor counts change
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubjectsImported(SubjectsImportedEvent event) {
+        regions.get(Region.INSTRUCTOR_SUMMARY).invalidateAll();
+    }
+
+    private static boolean belongsToSubject(Object value, Long subjectId) {
+        return value instanceof Topic topic && topic.getSubject() != null
+                && Objects.equals(topic.getSubject().getId(), subjectId);
+    }
+
+    private static boolean belongsToCourse(Object value, Long courseId) {
+        return value instanceof Topic topic && topic.getSubject() != null
+                && topic.getSubject().getCourse() != null
+                && Objects.equals(topic.getSubject().getCourse().getId(), courseId);
+    }
+
+    private static int weigh(Object value) {
+        return value instanceof Collection<?> list ? 1 + list.size() : 1;
+    }
+}
@@ -0,0 +1,497 @@
+package com.skillforge.cache;
+
+import com.skillforge.dto.CourseSummary;
+import com.skillforge.dto.CursorPage;
+import com.skillforge.dto.MaterialSummary;
+import com.skillforge.dto.SubjectRef;
+import com.skillforge.dto.SubjectSummary;
+import com.skillforge.dto.TopicSummary;
+import com.skillforge.dto.VersionStamp;
+import com.skillforge.event.CatalogChangedEvent;
+import com.skillforge.event.SubjectsImportedEvent;
+import com.skillforge.repository.CourseRepository;
+import com.skillforge.repository.MaterialRepository;
+import com.skillforge.repository.SubjectRepository;
+import com.skillforge.repository.TopicRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable in-memory copy of the catalog (course, subject, topic and material
+ * summaries) published through an AtomicReference.
+ *
+ * Reads never lock and never touch the connection pool. Writers (the after-commit
+ * CatalogChangedEvent listener) re-read only the affected rows, build a new
+ * snapshot copy-on-write and swap it in; they are serialized by a lock.
+ */
+@Component
+public class CatalogSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshot.class);
+
+    // Group indexes per table
+    private static final int SUBJECTS_BY_COURSE = 0;
+    private static final int SUBJECTS_BY_INSTRUCTOR = 1;
+    private static final int COURSES_BY_INSTRUCTOR = 0;
+    private static final int TOPICS_BY_SUBJECT = 0;
+    private static final int MATERIALS_BY_TOPIC = 0;
+
+    // Upper bound on memoized ETags (one per endpoint + parent id)
+    private static final int MAX_ETAGS = 4_096;
+
+    private final CourseRepository courseRepository;
+    private final SubjectRepository subjectRepository;
+    private final TopicRepository topicRepository;
+    private final MaterialRepository materialRepository;
+    private final TransactionTemplate readTx;
+
+    private final AtomicReference<Catalog> current = new AtomicReference<>();
+    private final Object writeLock = new Object();
+    private final Map<String, Tagged> etags = new ConcurrentHashMap<>();
+
+    public CatalogSnapshot(CourseRepository courseRepository,
+                           SubjectRepository subjectRepository,
+                           TopicRepository topicRepository,
+                           MaterialRepository materialRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.courseRepository = courseRepository;
+        this.subjectRepository = subjectRepository;
+        this.topicRepository = topicRepository;
+        this.materialRepository = materialRepository;
+        this.readTx = new TransactionTemplate(transactionManager);
+        // Listener runs after the writer's commit: always use a fresh transaction
+        this.readTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTx.setReadOnly(true);
+    }
+
+    // ===============================
+    // READS (lock-free)
+    // ===============================
+
+    public List<CourseSummary> courses() {
+        return catalog().courses.rows;
+    }
+
+    public CursorPage<CourseSummary> coursePage(String cursor, int limit) {
+        return catalog().courses.page(CursorPage.decode(cursor), limit);
+    }
+
+    public List<CourseSummary> coursesByInstructor(Long instructorId) {
+        return catalog().courses.group(COURSES_BY_INSTRUCTOR, instructorId);
+    }
+
+    public List<SubjectSummary> subjects() {
+        return catalog().subjects.rows;
+    }
+
+    public CursorPage<SubjectSummary> subjectPage(String cursor, int limit) {
+        return catalog().subjects.page(CursorPage.decode(cursor), limit);
+    }
+
+    public List<SubjectSummary> subjectsByCourse(Long courseId) {
+        return catalog().subjects.group(SUBJECTS_BY_COURSE, courseId);
+    }
+
+    public List<SubjectSummary> subjectsByInstructor(Long instructorId) {
+        return catalog().subjects.group(SUBJECTS_BY_INSTRUCTOR, instructorId);
+    }
+
+    public List<TopicSummary> topics() {
+        return catalog().topics.rows;
+    }
+
+    public CursorPage<TopicSummary> topicPage(String cursor, int limit) {
+        return catalog().topics.page(CursorPage.decode(cursor), limit);
+    }
+
+    public Optional<TopicSummary> topic(Long id) {
+        return Optional.ofNullable(catalog().topics.get(id));
+    }
+
+    public List<TopicSummary> topicsBySubject(Long subjectId) {
+        return catalog().topics.group(TOPICS_BY_SUBJECT, subjectId);
+    }
+
+    public List<MaterialSummary> materials() {
+        return catalog().materials.rows;
+    }
+
+    public CursorPage<MaterialSummary> materialPage(String cursor, int limit) {
+        return catalog().materials.page(CursorPage.decode(cursor), limit);
+    }
+
+    public List<MaterialSummary> materialsByTopic(Long topicId) {
+        return catalog().materials.group(MATERIALS_BY_TOPIC, topicId);
+    }
+
+    /**
+     * Content-hash ETag of a list returned by this component. Lists are immutable
+     * and replaced on change, so the hash is memoized per list instance.
+     */
+    public String etag(String key, List<?> body) {
+        Tagged tagged = etags.get(key);
+        if (tagged != null && tagged.body == body) {
+            return tagged.etag;
+        }
+        String etag = VersionStamp.etag(body);
+        if (tagged != null || etags.size() < MAX_ETAGS) {
+            etags.put(key, new Tagged(body, etag));
+        }
+        return etag;
+    }
+
+    private Catalog catalog() {
+        Catalog catalog = current.get();
+        if (catalog != null) {
+            return catalog;
+        }
+        // First read before the startup build finished: build once, others wait
+        synchronized (writeLock) {
+            catalog = current.get();
+            return catalog != null ? catalog : build();
+        }
+    }
+
+    // ===============================
+    // FULL BUILD
+    // ===============================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    /** Reloads the whole catalog (startup, admin request, or after a failed incremental update). */
+    public void rebuild() {
+        build();
+    }
+
+    private Catalog build() {
+        synchronized (writeLock) {
+            Catalog catalog = readTx.execute(status -> {
+                List<SubjectSummary> subjects = subjectRepository.findAllSummaries();
+                // Course rows embed subject refs; derive them instead of querying again
+                List<SubjectRef> refs = subjects.stream()
+                        .map(subject -> new SubjectRef(subject.id(), subject.name(), subject.courseId()))
+                        .toList();
+                return new Catalog(
+                        new Table<>(CourseSummary.withSubjects(courseRepository.findAllSummaries(), refs),
+                                CourseSummary::id, List.of(CourseSummary::instructorId)),
+                        new Table<>(subjects,
+                                SubjectSummary::id, List.of(SubjectSummary::courseId, SubjectSummary::instructorId)),
+                        new Table<>(topicRepository.findAllSummaries(),
+                                TopicSummary::id, List.of(TopicSummary::subjectId)),
+                        new Table<>(materialRepository.findAllSummaries(),
+                                MaterialSummary::id, List.of(MaterialSummary::topicId)));
+            });
+            current.set(catalog);
+            log.info("Catalog snapshot built: {} courses, {} subjects, {} topics, {} materials",
+                    catalog.courses.rows.size(), catalog.subjects.rows.size(),
+                    catalog.topics.rows.size(), catalog.materials.rows.size());
+            return catalog;
+        }
+    }
+
+    // ===============================
+    // INCREMENTAL UPDATES
+    // ===============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        update(event, base -> apply(base, event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubjectsImported(SubjectsImportedEvent event) {
+        update(event, base -> {
+            Changes<CourseSummary> courses = new Changes<>();
+            Changes<SubjectSummary> subjects = new Changes<>();
+            subjects.upserts.addAll(subjectRepository.findSummariesByIdIn(event.subjectIds()));
+            reloadCourses(event.courseIds(), courses);
+            return new Catalog(base.courses.apply(courses), base.subjects.apply(subjects), base.topics, base.materials);
+        });
+    }
+
+    private void update(Object cause, Function<Catalog, Catalog> change) {
+        try {
+            synchronized (writeLock) {
+                Catalog base = current.get();
+                if (base == null) {
+                    return; // Not built yet; the initial build will see this change
+                }
+                current.set(readTx.execute(status -> change.apply(base)));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Incremental catalog update failed for {}, rebuilding", cause, e);
+            try {
+                rebuild();
+            } catch (RuntimeException rebuildFailure) {
+                // The write itself is committed; keep serving the previous snapshot
+                log.error("Catalog snapshot rebuild failed", rebuildFailure);
+            }
+        }
+    }
+
+    private Catalog apply(Catalog base, CatalogChangedEvent event) {
+        Changes<CourseSummary> courses = new Changes<>();
+        Changes<SubjectSummary> subjects = new Changes<>();
+        Changes<TopicSummary> topics = new Changes<>();
+        Changes<MaterialSummary> materials = new Changes<>();
+
+        switch (event.type()) {
+            case COURSE -> {
+                Set<Long> courseIds = Set.of(event.id());
+                reloadCourses(courseIds, courses);
+                if (courses.removals.contains(event.id())) {
+                    // Subjects, topics and their materials went with the course
+                    for (SubjectSummary subject : base.subjects.group(SUBJECTS_BY_COURSE, event.id())) {
+                        removeSubject(base, subject.id(), subjects, topics);
+                    }
+                    for (Long topicId : topics.removals) {
+                        for (MaterialSummary material : base.materials.group(MATERIALS_BY_TOPIC, topicId)) {
+                            materials.removals.add(material.id());
+                        }
+                    }
+                } else {
+                    // Subject rows carry the course title
+                    subjects.upserts.addAll(subjectRepository.findSummariesByCourseId(event.id()));
+                }
+            }
+            case SUBJECT -> {
+                Set<Long> courseIds = new HashSet<>();
+                SubjectSummary previous = base.subjects.get(event.id());
+                if (previous != null) {
+                    courseIds.add(previous.courseId());
+                }
+                Optional<SubjectSummary> subject = subjectRepository.findSummaryById(event.id());
+                if (subject.isPresent()) {
+                    subjects.upserts.add(subject.get());
+                    courseIds.add(subject.get().courseId());
+                    // Topic rows carry the subject name
+                    topics.upserts.addAll(topicRepository.findSummariesBySubjectId(event.id()));
+                } else {
+                    removeSubject(base, event.id(), subjects, topics);
+                }
+                if (event.courseId() != null) {
+                    courseIds.add(event.courseId());
+                }
+                // Course rows list their subjects
+                reloadCourses(courseIds, courses);
+            }
+            case TOPIC -> topicRepository.findSummaryById(event.id())
+                    .ifPresentOrElse(topics.upserts::add, () -> topics.removals.add(event.id()));
+            case MATERIAL -> materialRepository.findSummaryById(event.id())
+                    .ifPresentOrElse(materials.upserts::add, () -> materials.removals.add(event.id()));
+        }
+
+        return new Catalog(
+                base.courses.apply(courses),
+                base.subjects.apply(subjects),
+                base.topics.apply(topics),
+                base.materials.apply(materials));
+    }
+
+    private void reloadCourses(Set<Long> courseIds, Changes<CourseSummary> courses) {
+        List<CourseSummary> found = CourseSummary.withSubjects(
+                courseRepository.findSummariesByIdIn(courseIds),
+                subjectRepository.findRefsByCourseIdIn(courseIds));
+        courses.upserts.addAll(found);
+        Set<Long> missing = new HashSet<>(courseIds);
+        found.forEach(course -> missing.remove(course.id()));
+        courses.removals.addAll(missing);
+    }
+
+    private void removeSubject(Catalog base, Long subjectId,
+                               Changes<SubjectSummary> subjects, Changes<TopicSummary> topics) {
+        subjects.removals.add(subjectId);
+        for (TopicSummary topic : base.topics.group(TOPICS_BY_SUBJECT, subjectId)) {
+            topics.removals.add(topic.id());
+        }
+    }
+
+    // ===============================
+    // DATA STRUCTURES
+    // ===============================
+
+    private record Tagged(List<?> body, String etag) {}
+
+    /** One published version of the catalog. Never mutated after construction. */
+    private static final class Catalog {
+        private final Table<CourseSummary> courses;
+        private final Table<SubjectSummary> subjects;
+        private final Table<TopicSummary> topics;
+        private final Table<MaterialSummary> materials;
+
+        Catalog(Table<CourseSummary> courses, Table<SubjectSummary> subjects,
+                Table<TopicSummary> topics, Table<MaterialSummary> materials) {
+            this.courses = courses;
+            this.subjects = subjects;
+            this.topics = topics;
+            this.materials = materials;
+        }
+    }
+
+    /** Rows to replace and ids to drop in one table. */
+    private static final class Changes<T> {
+        final List<T> upserts = new ArrayList<>();
+        final Set<Long> removals = new HashSet<>();
+    }
+
+    /**
+     * Immutable table: rows sorted by id (binary search for keyset pages and lookups by
+     * id) and one grouping index per key function (parent, instructor).
+     *
+     * apply() builds the next version from this one: changed rows are spliced into the
+     * sorted rows in one merge pass, and only the groups whose members changed are
+     * rebuilt; every other group list is shared with the previous version.
+     */
+    private static final class Table<T> {
+        private final ToLongFunction<T> idOf;
+        private final List<Function<T, Long>> keys;
+
+        final List<T> rows;
+        final long[] ids;
+        final List<Map<Long, List<T>>> groups;
+
+        Table(Collection<T> source, ToLongFunction<T> idOf, List<Function<T, Long>> keys) {
+            this.idOf = idOf;
+            this.keys = keys;
+
+            List<T> sorted = new ArrayList<>(source);
+            sorted.sort(Comparator.comparingLong(idOf));
+            this.rows = List.copyOf(sorted);
+            this.ids = rows.stream().mapToLong(idOf).toArray();
+
+            List<Map<Long, List<T>>> built = new ArrayList<>(keys.size());
+            for (Function<T, Long> key : keys) {
+                Map<Long, List<T>> grouped = new HashMap<>();
+                for (T row : rows) {
+                    Long value = key.apply(row);
+                    if (value != null) {
+                        grouped.computeIfAbsent(value, k -> new ArrayList<>()).add(row);
+                    }
+                }
+                grouped.replaceAll((k, list) -> List.copyOf(list));
+                built.add(Collections.unmodifiableMap(grouped));
+            }
+            this.groups = List.copyOf(built);
+        }
+
+        private Table(Table<T> base, List<T> rows, long[] ids, List<Map<Long, List<T>>> groups) {
+            this.idOf = base.idOf;
+            this.keys = base.keys;
+            this.rows = rows;
+            this.ids = ids;
+            this.groups = groups;
+        }
+
+        T get(long id) {
+            int index = Arrays.binarySearch(ids, id);
+            return index >= 0 ? rows.get(index) : null;
+        }
+
+        List<T> group(int index, Long key) {
+            return key == null ? List.of() : groups.get(index).getOrDefault(key, List.of());
+        }
+
+        CursorPage<T> page(long afterId, int limit) {
+            int from = Arrays.binarySearch(ids, afterId);
+            from = from >= 0 ? from + 1 : -from - 1;
+            int to = Math.min(rows.size(), from + limit + 1);
+            return CursorPage.of(rows.subList(from, to), limit, idOf);
+        }
+
+        Table<T> apply(Changes<T> changes) {
+            if (changes.upserts.isEmpty() && changes.removals.isEmpty()) {
+                return this;
+            }
+            // Latest version of every changed row by id; null = removed
+            TreeMap<Long, T> changed = new TreeMap<>();
+            changes.removals.forEach(id -> changed.put(id, null));
+            changes.upserts.forEach(row -> changed.put(idOf.applyAsLong(row), row));
+
+            // Merge the sorted rows with the sorted changes
+            List<T> merged = new ArrayList<>(rows.size() + changed.size());
+            Iterator<Map.Entry<Long, T>> pending = changed.entrySet().iterator();
+            Map.Entry<Long, T> next = pending.next();
+            for (int i = 0; i < ids.length; i++) {
+                while (next != null && next.getKey() < ids[i]) {
+                    if (next.getValue() != null) {
+                        merged.add(next.getValue());
+                    }
+                    next = pending.hasNext() ? pending.next() : null;
+                }
+                if (next != null && next.getKey() == ids[i]) {
+                    if (next.getValue() != null) {
+                        merged.add(next.getValue());
+                    }
+                    next = pending.hasNext() ? pending.next() : null;
+                } else {
+                    merged.add(rows.get(i));
+                }
+            }
+            while (next != null) {
+                if (next.getValue() != null) {
+                    merged.add(next.getValue());
+                }
+                next = pending.hasNext() ? pending.next() : null;
+            }
+            List<T> nextRows = Collections.unmodifiableList(merged);
+            long[] nextIds = merged.stream().mapToLong(idOf).toArray();
+
+            List<Map<Long, List<T>>> nextGroups = new ArrayList<>(keys.size());
+            for (int k = 0; k < keys.size(); k++) {
+                nextGroups.add(patchGroups(groups.get(k), keys.get(k), changed));
+            }
+            return new Table<>(this, nextRows, nextIds, List.copyOf(nextGroups));
+        }
+
+        // Rebuilds only the groups a changed row left or joined
+        private Map<Long, List<T>> patchGroups(Map<Long, List<T>> base, Function<T, Long> key,
+                                               SortedMap<Long, T> changed) {
+            Map<Long, List<T>> joined = new HashMap<>();
+            Set<Long> touched = new HashSet<>();
+            for (Map.Entry<Long, T> change : changed.entrySet()) {
+                T previous = get(change.getKey());
+                if (previous != null && key.apply(previous) != null) {
+                    touched.add(key.apply(previous));
+                }
+                if (change.getValue() != null && key.apply(change.getValue()) != null) {
+                    Long value = key.apply(change.getValue());
+                    touched.add(value);
+                    joined.computeIfAbsent(value, v -> new ArrayList<>()).add(change.getValue());
+                }
+            }
+            Map<Long, List<T>> next = new HashMap<>(base);
+            for (Long value : touched) {
+                List<T> members = new ArrayList<>();
+                for (T row : base.getOrDefault(value, List.of())) {
+                    if (!changed.containsKey(idOf.applyAsLong(row))) {
+                        members.add(row);
+                    }
+                }
+                members.addAll(joined.getOrDefault(value, List.of()));
+                members.sort(Comparator.comparingLong(idOf));
+                if (members.isEmpty()) {
+                    next.remove(value);
+                } else {
+                    next.put(value, List.copyOf(members));
+                }
+            }
+            return Collections.unmodifiableMap(next);
+        }
+    }
+}
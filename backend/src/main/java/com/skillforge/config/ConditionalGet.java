@@ -0,0 +1,48 @@
+package com.skillforge.config;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for endpoints whose ETag can be computed without loading the body.
+ * When If-None-Match matches, the body supplier never runs (no JPA load, no JSON write).
+ */
+public final class ConditionalGet {
+
+    // Browsers may keep the response but must revalidate it; overrides Spring Security's no-store
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    public static <T> ResponseEntity<T> respond(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body.get());
+    }
+
+    /** Serves JSON that was serialized ahead of time (bytes written as is). */
+    public static ResponseEntity<byte[]> respondJson(WebRequest request, String etag, byte[] json) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).contentType(MediaType.APPLICATION_JSON).body(json);
+    }
+
+    /** Same as respond, answering 404 when the loaded resource does not exist. */
+    public static <T> ResponseEntity<T> respondIfPresent(WebRequest request, String etag, Supplier<Optional<T>> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return body.get()
+                .map(found -> ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(found))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
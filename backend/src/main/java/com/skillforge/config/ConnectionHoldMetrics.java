@@ -0,0 +1,170 @@
+package com.skillforge.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection hold time per endpoint: how long each physical pool connection stays
+ * borrowed, next to how long the requests of that endpoint take.
+ *
+ * Pools are wrapped below the LazyConnectionDataSourceProxy, so a connection counts
+ * from its first statement until the transaction releases it. With open-in-view off
+ * that ends before the response is written: holdShare well below 1 shows the pool is
+ * free while JSON goes out. Work outside a request (listeners after commit, schedulers,
+ * streamed exports) is reported under "background".
+ */
+public class ConnectionHoldMetrics implements HandlerInterceptor {
+
+    static final String BACKGROUND = "background";
+
+    // Requests no handler matched (404s, static resources, scanners): one key, not one per path
+    static final String UNMATCHED = "UNMATCHED";
+
+    private static final String REQUEST_START = ConnectionHoldMetrics.class.getName() + ".start";
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public record Stats(
+            String endpoint,
+            long requests,
+            double avgRequestMs,
+            long connections,
+            double avgHoldMs,
+            double maxHoldMs,
+            double holdShare
+    ) {}
+
+    /** Wraps a pool so every connection it hands out is timed. */
+    public DataSource track(DataSource pool) {
+        return new DelegatingDataSource(pool) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return timed(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return timed(super.getConnection(username, password));
+            }
+        };
+    }
+
+    public List<Stats> stats() {
+        return endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().stats(entry.getKey()))
+                .sorted(Comparator.comparingDouble((Stats stats) -> stats.avgHoldMs() * stats.connections()).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    // ===============================
+    // REQUEST TIMING (registered as a MVC interceptor)
+    // ===============================
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(REQUEST_START, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(REQUEST_START) instanceof Long start) {
+            endpoint(endpointOf(request)).requestNanos(System.nanoTime() - start);
+        }
+    }
+
+    // ===============================
+    // CONNECTION TIMING
+    // ===============================
+
+    private Connection timed(Connection connection) {
+        Endpoint endpoint = endpoint(currentEndpoint());
+        long start = System.nanoTime();
+        AtomicBoolean closed = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                endpoint.holdNanos(System.nanoTime() - start);
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, handler);
+    }
+
+    private Endpoint endpoint(String key) {
+        return endpoints.computeIfAbsent(key, k -> new Endpoint());
+    }
+
+    private static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servlet ? endpointOf(servlet.getRequest()) : BACKGROUND;
+    }
+
+    // "GET /courses/{id}" rather than one key per id
+    private static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? request.getMethod() + " " + pattern : UNMATCHED;
+    }
+
+    private static final class Endpoint {
+        final LongAdder requests = new LongAdder();
+        final LongAdder requestNanos = new LongAdder();
+        final LongAdder connections = new LongAdder();
+        final LongAdder holdNanos = new LongAdder();
+        final AtomicLong maxHoldNanos = new AtomicLong();
+
+        void requestNanos(long nanos) {
+            requests.increment();
+            requestNanos.add(nanos);
+        }
+
+        void holdNanos(long nanos) {
+            connections.increment();
+            holdNanos.add(nanos);
+            maxHoldNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        Stats stats(String key) {
+            long requestCount = requests.sum();
+            long connectionCount = connections.sum();
+            double totalRequestMs = requestNanos.sum() / 1e6;
+            double totalHoldMs = holdNanos.sum() / 1e6;
+            return new Stats(key, requestCount,
+                    requestCount == 0 ? 0 : totalRequestMs / requestCount,
+                    connectionCount,
+                    connectionCount == 0 ? 0 : totalHoldMs / connectionCount,
+                    maxHoldNanos.get() / 1e6,
+                    totalRequestMs == 0 ? 0 : totalHoldMs / totalRequestMs);
+        }
+    }
+}
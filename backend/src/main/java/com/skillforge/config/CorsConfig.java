@@ -2,6 +2,7 @@ package com.skillforge.config;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -11,6 +12,12 @@ import java.nio.file.Paths;
 @Configuration
 public class CorsConfig implements WebMvcConfigurer {
 
+    private final ConnectionHoldMetrics connectionHoldMetrics;
+
+    public CorsConfig(ConnectionHoldMetrics connectionHoldMetrics) {
+        this.connectionHoldMetrics = connectionHoldMetrics;
+    }
+
     // ✅ 1. Handles React Frontend Connection (Global CORS)
     @Override
     public void addCorsMappings(CorsRegistry registry) {
@@ -41,4 +48,10 @@ public class CorsConfig implements WebMvcConfigurer {
                 .addResourceLocations("file:" + uploadPath + "/")
                 .setCachePeriod(0);
     }
-}
\ No newline at end of file
+
+    // ✅ 3. Request timing for the connection hold-time metrics (/admin/metrics/connections)
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(connectionHoldMetrics);
+    }
+}
@@ -7,6 +7,9 @@ import org.springframework.context.annotation.Configuration;
 import javax.sql.DataSource;
 import com.zaxxer.hikari.HikariDataSource;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 public class DBConfig {
 
@@ -22,20 +25,64 @@ public class DBConfig {
     @Value("${spring.datasource.driver-class-name}")
     private String dbDriver;
 
+    // ===============================
+    // READ REPLICAS (optional, see ReplicaRouting)
+    // ===============================
+    @Value("${datasource.replicas.urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${datasource.replicas.username:${spring.datasource.username}}")
+    private String replicaUser;
+
+    @Value("${datasource.replicas.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${datasource.replicas.driver-class-name:${spring.datasource.driver-class-name}}")
+    private String replicaDriver;
+
+    @Value("${datasource.replicas.max-lag-ms:2000}")
+    private long replicaMaxLagMillis;
+
+    @Value("${datasource.replicas.lag-query:SHOW REPLICA STATUS}")
+    private String replicaLagQuery;
+
+    @Bean
+    public ConnectionHoldMetrics connectionHoldMetrics() {
+        return new ConnectionHoldMetrics();
+    }
+
+    @Bean
+    public ReplicaRouting replicaRouting(ConnectionHoldMetrics connectionHoldMetrics) {
+        HikariDataSource primary = pool("SkillForgeHikariCP", dbUrl, dbUser, dbPassword, dbDriver);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (!url.isBlank()) {
+                replicas.add(pool("SkillForgeReplica-" + (replicas.size() + 1),
+                        url.trim(), replicaUser, replicaPassword, replicaDriver));
+            }
+        }
+        return new ReplicaRouting(primary, replicas, replicaMaxLagMillis, replicaLagQuery, connectionHoldMetrics);
+    }
+
     @Bean
-    public DataSource dataSource() {
+    public DataSource dataSource(ReplicaRouting replicaRouting) {
+        return replicaRouting.dataSource();
+    }
+
+    private static HikariDataSource pool(String name, String url, String user, String password, String driver) {
         HikariDataSource dataSource = new HikariDataSource();
-        dataSource.setJdbcUrl(dbUrl);
-        dataSource.setUsername(dbUser);
-        dataSource.setPassword(dbPassword);
-        dataSource.setDriverClassName(dbDriver);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(user);
+        dataSource.setPassword(password);
+        dataSource.setDriverClassName(driver);
 
         // ✅ Optional tuning for production
         dataSource.setMaximumPoolSize(10);
         dataSource.setMinimumIdle(2);
         dataSource.setIdleTimeout(30000);   // 30s
         dataSource.setConnectionTimeout(30000); // 30s
-        dataSource.setPoolName("SkillForgeHikariCP");
+        dataSource.setPoolName(name);
 
         return dataSource;
     }
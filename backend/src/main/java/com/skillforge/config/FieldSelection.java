@@ -0,0 +1,193 @@
+package com.skillforge.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.skillforge.dto.VersionStamp;
+import com.skillforge.exception.InvalidFieldsException;
+import jakarta.persistence.Entity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sparse fieldsets: ?fields=id,title keeps only those properties of each row.
+ * Relations (collections and entity references such as CourseSummary.subjects or
+ * Topic.subject) are left out unless ?include=subjects names them, with or without
+ * ?fields. Rows of a type without relations are unchanged when neither is given.
+ *
+ * Only rows of the given type are trimmed; wrappers such as CursorPage and nested
+ * objects are written as usual. Controllers may also use isWithin() to pick a
+ * narrower query when the requested fields allow it.
+ */
+public final class FieldSelection {
+
+    static final String FILTER_ID = "fieldSelection";
+
+    private static final FieldSelection ALL = new FieldSelection(null, Set.of());
+
+    // Property names per row type (record components or instance fields)
+    private static final Map<Class<?>, Set<String>> PROPERTIES = new ConcurrentHashMap<>();
+    // The subset of those that are relations
+    private static final Map<Class<?>, Set<String>> RELATIONS = new ConcurrentHashMap<>();
+
+    /** Mixed into Object.class by JacksonConfig so every bean carries the filter id. */
+    @JsonFilter(FILTER_ID)
+    interface Filtered {
+    }
+
+    private final Class<?> rowType;
+    private final Set<String> fields;
+
+    private FieldSelection(Class<?> rowType, Set<String> fields) {
+        this.rowType = rowType;
+        this.fields = fields;
+    }
+
+    /** For row types without relations. */
+    public static FieldSelection parse(Class<?> rowType, String fields) {
+        return parse(rowType, fields, null);
+    }
+
+    public static FieldSelection parse(Class<?> rowType, String fields, String include) {
+        Set<String> known = PROPERTIES.computeIfAbsent(rowType, FieldSelection::propertiesOf);
+        Set<String> relations = RELATIONS.computeIfAbsent(rowType, FieldSelection::relationsOf);
+        Set<String> included = names(include, relations, rowType);
+        boolean noFields = fields == null || fields.isBlank();
+        if (noFields && included.containsAll(relations)) {
+            return ALL;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        if (noFields) {
+            known.stream().filter(name -> !relations.contains(name)).sorted().forEach(selected::add);
+        } else {
+            selected.addAll(names(fields, known, rowType));
+        }
+        selected.addAll(included);
+        return new FieldSelection(rowType, Collections.unmodifiableSet(selected));
+    }
+
+    private static Set<String> names(String list, Set<String> allowed, Class<?> rowType) {
+        if (list == null || list.isBlank()) {
+            return Set.of();
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : list.split(",")) {
+            String field = name.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(field)) {
+                throw new InvalidFieldsException(field, rowType);
+            }
+            names.add(field);
+        }
+        return names;
+    }
+
+    public boolean isAll() {
+        return rowType == null;
+    }
+
+    /** True when only properties from the given set were asked for. */
+    public boolean isWithin(Set<String> available) {
+        return !isAll() && available.containsAll(fields);
+    }
+
+    /** Same fields applied to another row type (e.g. a narrower projection of the same resource). */
+    public FieldSelection forType(Class<?> type) {
+        return isAll() ? this : new FieldSelection(type, fields);
+    }
+
+    /** The same resource trimmed differently is a different representation. */
+    public String etag(String etag) {
+        return isAll() ? etag : VersionStamp.etag(etag, rowType.getSimpleName(), String.join(",", fields));
+    }
+
+    /** Wraps the body so Jackson writes only the selected properties of each row. */
+    public Object apply(Object body) {
+        if (isAll() || body == null) {
+            return body;
+        }
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+                .addFilter(FILTER_ID, new RowFilter(rowType, fields)));
+        return value;
+    }
+
+    private static Set<String> propertiesOf(Class<?> type) {
+        Set<String> names = new HashSet<>();
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                names.add(component.getName());
+            }
+            return names;
+        }
+        for (Field field : instanceFields(type)) {
+            names.add(field.getName());
+        }
+        return names;
+    }
+
+    private static Set<String> relationsOf(Class<?> type) {
+        Set<String> names = new HashSet<>();
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                if (isRelation(component.getType())) {
+                    names.add(component.getName());
+                }
+            }
+            return names;
+        }
+        for (Field field : instanceFields(type)) {
+            if (isRelation(field.getType())) {
+                names.add(field.getName());
+            }
+        }
+        return names;
+    }
+
+    private static boolean isRelation(Class<?> type) {
+        return Collection.class.isAssignableFrom(type) || type.isAnnotationPresent(Entity.class);
+    }
+
+    private static List<Field> instanceFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static final class RowFilter extends SimpleBeanPropertyFilter {
+        private final Class<?> rowType;
+        private final Set<String> fields;
+
+        RowFilter(Class<?> rowType, Set<String> fields) {
+            this.rowType = rowType;
+            this.fields = fields;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator json, SerializerProvider provider,
+                                     PropertyWriter writer) throws Exception {
+            if (!rowType.isInstance(pojo) || fields.contains(writer.getName())) {
+                writer.serializeAsField(pojo, json, provider);
+            } else if (!json.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, json, provider);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.skillforge.config;
+
+import com.skillforge.model.IdAllocation;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aligns the id_allocation rows with the data already in each table before the
+ * first insert, so the pooled generators never hand out an id that an earlier
+ * AUTO_INCREMENT insert already used.
+ *
+ * The pooled optimizer treats a stored value V as the top of the block [V - 49, V],
+ * hence next_val >= MAX(id) + BLOCK_SIZE. GREATEST keeps it monotonic when several
+ * instances start at once.
+ */
+@Component
+public class IdAllocationSeeder implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(IdAllocationSeeder.class);
+
+    private final JdbcTemplate jdbc;
+
+    // EntityManagerFactory: schema update (ddl-auto) must have run first
+    public IdAllocationSeeder(JdbcTemplate jdbc, EntityManagerFactory entityManagerFactory) {
+        this.jdbc = jdbc;
+    }
+
+    // Runs after all singletons exist but before the web server accepts requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        jdbc.execute("CREATE TABLE IF NOT EXISTS " + IdAllocation.TABLE + " ("
+                + IdAllocation.KEY_COLUMN + " VARCHAR(255) NOT NULL PRIMARY KEY, "
+                + IdAllocation.VALUE_COLUMN + " BIGINT)");
+
+        for (String table : IdAllocation.TABLES) {
+            Long maxId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            long floor = (maxId == null ? 0 : maxId) + IdAllocation.BLOCK_SIZE;
+            jdbc.update("INSERT IGNORE INTO " + IdAllocation.TABLE
+                    + " (" + IdAllocation.KEY_COLUMN + ", " + IdAllocation.VALUE_COLUMN + ") VALUES (?, ?)", table, floor);
+            jdbc.update("UPDATE " + IdAllocation.TABLE + " SET " + IdAllocation.VALUE_COLUMN
+                    + " = GREATEST(" + IdAllocation.VALUE_COLUMN + ", ?) WHERE " + IdAllocation.KEY_COLUMN + " = ?",
+                    floor, table);
+            log.debug("Id allocation for {} starts at or above {}", table, floor - IdAllocation.BLOCK_SIZE + 1);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.skillforge.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes large exports as a JSON array, row by row, straight to the response.
+ * Nothing is collected into a List, so memory stays flat whatever the row count
+ * and the first bytes leave as soon as the first rows are read.
+ *
+ * The body runs on the MVC async thread after the controller has returned,
+ * so database work happens inside the callbacks, not before.
+ */
+@Component
+public class JsonStreaming {
+
+    /**
+     * MySQL Connector/J only streams a result set row by row with this fetch size;
+     * any other value buffers the whole result in the driver.
+     */
+    public static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    /** Writes the elements of the array; the surrounding [ ] is handled here. */
+    @FunctionalInterface
+    public interface RowWriter {
+        void writeRows(JsonGenerator json) throws Exception;
+    }
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTx;
+
+    public JsonStreaming(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+    }
+
+    /**
+     * Streams a repository Stream query. The stream is opened and closed inside one
+     * read-only transaction; rows should be unmanaged (DTO or constructor expression)
+     * so the persistence context does not grow while iterating.
+     */
+    public <T> ResponseEntity<StreamingResponseBody> fromStream(Supplier<Stream<T>> rows) {
+        return fromRows(json -> readTx.executeWithoutResult(status -> {
+            try (Stream<T> stream = rows.get()) {
+                stream.forEach(row -> {
+                    try {
+                        json.writeObject(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        }));
+    }
+
+    /** Streams rows written by hand (e.g. from a JDBC ResultSet). */
+    public ResponseEntity<StreamingResponseBody> fromRows(RowWriter writer) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.createGenerator(out)) {
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                json.writeStartArray();
+                writer.writeRows(json);
+                json.writeEndArray();
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                // The 200 may already be on the wire: all we can do is abort the response
+                throw new IOException("Export failed", e);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
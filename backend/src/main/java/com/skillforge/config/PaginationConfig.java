@@ -0,0 +1,25 @@
+package com.skillforge.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Page size limits shared by every cursor-paginated list endpoint.
+ */
+@Component
+public class PaginationConfig {
+
+    @Value("${pagination.default-limit:50}")
+    private int defaultLimit;
+
+    @Value("${pagination.max-limit:500}")
+    private int maxLimit;
+
+    /** Clamps the client supplied ?limit= into [1, max-limit]. */
+    public int resolveLimit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultLimit;
+        }
+        return Math.min(requested, maxLimit);
+    }
+}
@@ -0,0 +1,299 @@
+package com.skillforge.config;
+
+import com.skillforge.event.CatalogChangedEvent;
+import com.skillforge.event.SubjectsImportedEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends read-only transactions to replica pools and everything else to the primary.
+ *
+ * The application DataSource is a LazyConnectionDataSourceProxy: the physical
+ * connection is fetched at the first statement, after the transaction manager has
+ * marked it read-only, and read-only connections come from {@link #readOnlyDataSource}.
+ *
+ * Replica lag is handled two ways:
+ * - read-your-writes: after a write commits, the same user (and thread) reads from the
+ *   primary for max-lag; after a catalog write every read does, because caches, the
+ *   snapshot and the search index reload right after commit and must not see old rows.
+ *   Writes committed later on another thread (write-behind attempts) hold the user on
+ *   the primary from submission until they commit, see {@link #holdCurrentUser()};
+ * - a periodic lag query takes replicas that fall behind (or stop replicating) out of
+ *   rotation until they catch up.
+ * With no replica configured, or none in rotation, reads use the primary.
+ */
+public class ReplicaRouting {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRouting.class);
+
+    private static final Object WRITE_KEY = new Object();
+
+    private final HikariDataSource primary;
+    private final DataSource trackedPrimary;
+    private final List<Replica> replicas;
+    private final long maxLagNanos;
+    private final String lagQuery;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong sharedPinnedUntil = new AtomicLong(System.nanoTime());
+    private final Map<String, Long> userPinnedUntil = new ConcurrentHashMap<>();
+    private final Map<String, Integer> heldUsers = new ConcurrentHashMap<>();     // user -> pending writes
+    private final ThreadLocal<Long> threadPinnedUntil = new ThreadLocal<>();
+
+    public ReplicaRouting(HikariDataSource primary, List<HikariDataSource> replicas,
+                          long maxLagMillis, String lagQuery, ConnectionHoldMetrics holdMetrics) {
+        this.primary = primary;
+        this.trackedPrimary = holdMetrics.track(primary);
+        this.replicas = replicas.stream().map(pool -> new Replica(pool, holdMetrics.track(pool))).toList();
+        this.maxLagNanos = maxLagMillis * 1_000_000L;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+    }
+
+    /** The application DataSource. */
+    public DataSource dataSource() {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(new WriteTracking(trackedPrimary));
+        if (!replicas.isEmpty()) {
+            proxy.setReadOnlyDataSource(readOnlyDataSource());
+        }
+        return proxy;
+    }
+
+    DataSource readOnlyDataSource() {
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return readConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return readConnection();
+            }
+        };
+    }
+
+    private Connection readConnection() throws SQLException {
+        if (!pinnedToPrimary()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.inRotation) {
+                    continue;
+                }
+                try {
+                    return replica.tracked.getConnection();
+                } catch (SQLException e) {
+                    replica.inRotation = false;
+                    log.warn("Replica {} unavailable, taken out of rotation", replica.pool.getPoolName(), e);
+                }
+            }
+        }
+        return trackedPrimary.getConnection();
+    }
+
+    // ===============================
+    // READ-YOUR-WRITES
+    // ===============================
+
+    private boolean pinnedToPrimary() {
+        long now = System.nanoTime();
+        if (sharedPinnedUntil.get() - now > 0) {
+            return true;
+        }
+        Long threadUntil = threadPinnedUntil.get();
+        if (threadUntil != null && threadUntil - now > 0) {
+            return true;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long userUntil = userPinnedUntil.get(user);
+        return heldUsers.containsKey(user) || userUntil != null && userUntil - now > 0;
+    }
+
+    /**
+     * Keeps the current user on the primary until {@link #release(String)}: for a write
+     * that is accepted now but committed later by another thread, which has no security
+     * context to pin anyone. Returns the user to release, null when nobody is logged in.
+     */
+    public String holdCurrentUser() {
+        String user = currentUser();
+        if (user != null) {
+            heldUsers.merge(user, 1, Integer::sum);
+        }
+        return user;
+    }
+
+    /** Ends one hold once its write committed; the user then stays pinned for max-lag as usual. */
+    public void release(String user) {
+        if (user == null) {
+            return;
+        }
+        userPinnedUntil.put(user, System.nanoTime() + maxLagNanos);
+        heldUsers.computeIfPresent(user, (key, pending) -> pending > 1 ? pending - 1 : null);
+    }
+
+    private void pinWriter(boolean shared) {
+        long until = System.nanoTime() + maxLagNanos;
+        threadPinnedUntil.set(until);
+        String user = currentUser();
+        if (user != null) {
+            userPinnedUntil.put(user, until);
+        }
+        if (shared) {
+            sharedPinnedUntil.accumulateAndGet(until, (a, b) -> b - a > 0 ? b : a);
+        }
+    }
+
+    // Runs inside the writing transaction, before the after-commit cache/index listeners
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        markShared();
+    }
+
+    @EventListener
+    public void onSubjectsImported(SubjectsImportedEvent event) {
+        markShared();
+    }
+
+    private void markShared() {
+        if (TransactionSynchronizationManager.getResource(WRITE_KEY) instanceof WriteCommit commit) {
+            commit.shared = true;
+        } else {
+            pinWriter(true);
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    /** Registered once per read-write transaction when it first touches the primary. */
+    private final class WriteCommit implements TransactionSynchronization {
+        volatile boolean shared;
+
+        @Override
+        public void afterCommit() {
+            pinWriter(shared);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_KEY);
+        }
+    }
+
+    private final class WriteTracking extends DelegatingDataSource {
+        WriteTracking(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (TransactionSynchronizationManager.isSynchronizationActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                    && !TransactionSynchronizationManager.hasResource(WRITE_KEY)) {
+                WriteCommit commit = new WriteCommit();
+                TransactionSynchronizationManager.bindResource(WRITE_KEY, commit);
+                TransactionSynchronizationManager.registerSynchronization(commit);
+            }
+            return super.getConnection();
+        }
+    }
+
+    // ===============================
+    // LAG CHECKS
+    // ===============================
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.lag-check-ms:5000}")
+    public void checkReplicas() {
+        long now = System.nanoTime();
+        userPinnedUntil.values().removeIf(until -> until - now <= 0);
+        for (Replica replica : replicas) {
+            boolean healthy = isCaughtUp(replica);
+            if (healthy != replica.inRotation) {
+                log.info("Replica {} {} rotation", replica.pool.getPoolName(), healthy ? "back in" : "taken out of");
+            }
+            replica.inRotation = healthy;
+        }
+    }
+
+    private boolean isCaughtUp(Replica replica) {
+        try (Connection connection = replica.pool.getConnection()) {
+            if (lagQuery == null) {
+                return connection.isValid(2);
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery(lagQuery)) {
+                if (!rows.next()) {
+                    return true; // Not replicating from anything: nothing to lag behind
+                }
+                Long seconds = lagSeconds(rows);
+                // NULL means the replication threads are stopped
+                return seconds != null && seconds * 1_000_000_000L <= maxLagNanos;
+            }
+        } catch (SQLException e) {
+            log.debug("Lag check failed for replica {}", replica.pool.getPoolName(), e);
+            return false;
+        }
+    }
+
+    // MySQL 8.0.22+ reports Seconds_Behind_Source, older versions Seconds_Behind_Master
+    private static Long lagSeconds(ResultSet rows) throws SQLException {
+        ResultSetMetaData meta = rows.getMetaData();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            String column = meta.getColumnLabel(i);
+            if (column.equalsIgnoreCase("Seconds_Behind_Source") || column.equalsIgnoreCase("Seconds_Behind_Master")) {
+                long value = rows.getLong(i);
+                return rows.wasNull() ? null : value;
+            }
+        }
+        if (meta.getColumnCount() != 1) {
+            return 0L;
+        }
+        // Custom lag-query returning the lag in seconds as its only column
+        long value = rows.getLong(1);
+        return rows.wasNull() ? null : value;
+    }
+
+    @PreDestroy
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    private static final class Replica {
+        final HikariDataSource pool;
+        final DataSource tracked;
+        volatile boolean inRotation = true;
+
+        Replica(HikariDataSource pool, DataSource tracked) {
+            this.pool = pool;
+            this.tracked = tracked;
+        }
+    }
+}
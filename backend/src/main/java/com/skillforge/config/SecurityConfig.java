@@ -74,7 +74,8 @@ public class SecurityConfig {
                         .hasAuthority("STUDENT")
 
                         // ✅ Instructor/Admin routes
-                        .requestMatchers("/api/quizzes/generate", "/api/quizzes/attempts", "/api/quizzes/topic/**")
+                        .requestMatchers("/api/quizzes/generate", "/api/quizzes/blueprints", "/api/quizzes/attempts",
+                                "/api/quizzes/topic/**", "/api/question-bank/**")
                         .hasAnyAuthority("INSTRUCTOR", "ADMIN")
 
                         // ✅ Course Management
@@ -0,0 +1,45 @@
+package com.skillforge.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves lesson text left in the old topics.content column into topic_contents.
+ *
+ * ddl-auto=update creates the new table but never drops the old column, so databases
+ * created before the split still carry the text there. Copied values are nulled out,
+ * which makes later startups a no-op (one information_schema lookup).
+ */
+@Component
+public class TopicContentMigration implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicContentMigration.class);
+
+    private final JdbcTemplate jdbc;
+
+    // EntityManagerFactory: schema update (ddl-auto) must have run first
+    public TopicContentMigration(JdbcTemplate jdbc, EntityManagerFactory entityManagerFactory) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Integer legacyColumn = jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+                + "WHERE table_schema = DATABASE() AND table_name = 'topics' AND column_name = 'content'",
+                Integer.class);
+        if (legacyColumn == null || legacyColumn == 0) {
+            return;
+        }
+        // INSERT IGNORE: a topic edited since the split already has its row
+        int copied = jdbc.update("INSERT IGNORE INTO topic_contents (topic_id, version, content) "
+                + "SELECT id, 0, content FROM topics WHERE content IS NOT NULL");
+        int cleared = jdbc.update("UPDATE topics SET content = NULL WHERE content IS NOT NULL");
+        if (cleared > 0) {
+            log.info("Moved topic content to topic_contents: {} copied, {} cleared", copied, cleared);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.skillforge.controller;
+
+import com.skillforge.cache.BoundedCache;
+import com.skillforge.cache.BoundedRegionFactory;
+import com.skillforge.cache.CatalogCache;
+import com.skillforge.cache.CatalogSnapshot;
+import com.skillforge.service.PublicQuizCache;
+import com.skillforge.service.QuizGrader;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.*;
+
+@RestController
+@RequestMapping("/admin/cache")
+@CrossOrigin(origins = { "http://localhost:3001" })
+@PreAuthorize("hasAuthority('ADMIN')")
+public class CacheController {
+
+    private final CatalogCache catalogCache;
+    private final CatalogSnapshot catalogSnapshot;
+    private final QuizGrader quizGrader;
+    private final PublicQuizCache publicQuizCache;
+    private final SessionFactoryImplementor sessionFactory;
+
+    public CacheController(CatalogCache catalogCache,
+                           CatalogSnapshot catalogSnapshot,
+                           QuizGrader quizGrader,
+                           PublicQuizCache publicQuizCache,
+                           EntityManagerFactory entityManagerFactory) {
+        this.catalogCache = catalogCache;
+        this.catalogSnapshot = catalogSnapshot;
+        this.quizGrader = quizGrader;
+        this.publicQuizCache = publicQuizCache;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    // ===============================
+    // CACHE STATS (hits, misses, evictions per region)
+    // ===============================
+    @GetMapping
+    public ResponseEntity<List<BoundedCache.Stats>> getStats() {
+        List<BoundedCache.Stats> stats = new ArrayList<>(catalogCache.stats());
+        stats.add(quizGrader.stats());
+        stats.add(publicQuizCache.stats());
+        return ResponseEntity.ok(stats);
+    }
+
+    // ===============================
+    // HIBERNATE SECOND-LEVEL + QUERY CACHE STATS
+    // ===============================
+    @GetMapping("/hibernate")
+    public ResponseEntity<Map<String, Object>> getHibernateStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+
+        List<Map<String, Object>> regions = new ArrayList<>();
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region == null) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("region", name);
+            row.put("hits", region.getHitCount());
+            row.put("misses", region.getMissCount());
+            row.put("puts", region.getPutCount());
+            row.put("elements", region.getElementCountInMemory());
+            regions.add(row);
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        body.put("queryExecutions", statistics.getQueryExecutionCount());
+        body.put("prepareStatements", statistics.getPrepareStatementCount());
+        body.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        body.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        body.put("queryCachePuts", statistics.getQueryCachePutCount());
+        body.put("regions", regions);
+        if (sessionFactory.getCache().getRegionFactory() instanceof BoundedRegionFactory factory) {
+            body.put("storage", factory.stats());
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    // ===============================
+    // CLEAR ALL REGIONS
+    // ===============================
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        catalogCache.clear();
+        sessionFactory.getCache().evictAllRegions();
+        return ResponseEntity.noContent().build();
+    }
+
+    // ===============================
+    // REBUILD CATALOG SNAPSHOT (after out-of-band SQL changes)
+    // ===============================
+    @PostMapping("/snapshot/rebuild")
+    public ResponseEntity<Void> rebuildSnapshot() {
+        catalogSnapshot.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
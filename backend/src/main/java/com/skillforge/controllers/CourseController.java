@@ -1,18 +1,27 @@
 package com.skillforge.controller;
 
+import com.skillforge.cache.CatalogSnapshot;
+import com.skillforge.config.ConditionalGet;
+import com.skillforge.config.FieldSelection;
+import com.skillforge.config.PaginationConfig;
 import com.skillforge.dto.CourseDTO;
 import com.skillforge.dto.CourseRequestDTO;
+import com.skillforge.dto.CourseSummary;
+import com.skillforge.dto.CourseTreeDTO;
+import com.skillforge.dto.CursorPage;
+import com.skillforge.dto.VersionStamp;
 import com.skillforge.model.Course;
 import com.skillforge.model.User;
 import com.skillforge.service.CourseService;
+import com.skillforge.service.CourseTreeService;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/courses")
@@ -20,17 +29,52 @@ import java.util.stream.Collectors;
 public class CourseController {
 
     private final CourseService courseService;
-
-    public CourseController(CourseService courseService) {
+    private final CourseTreeService courseTreeService;
+    private final PaginationConfig pagination;
+    private final CatalogSnapshot snapshot;
+
+    public CourseController(CourseService courseService,
+                            CourseTreeService courseTreeService,
+                            PaginationConfig pagination,
+                            CatalogSnapshot snapshot) {
         this.courseService = courseService;
+        this.courseTreeService = courseTreeService;
+        this.pagination = pagination;
+        this.snapshot = snapshot;
     }
 
     // ===============================
     // GET ALL COURSES
+    // ?cursor / ?limit switch to keyset pagination; without them the full list is returned
+    // Served from the in-memory catalog snapshot; no database round trip
+    // ?fields=id,title trims each row; subjects are only embedded with ?include=subjects
     // ===============================
     @GetMapping
-    public ResponseEntity<List<Course>> getAllCourses() {
-        return ResponseEntity.ok(courseService.listAll());
+    public ResponseEntity<?> getAllCourses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(CourseSummary.class, fields, include);
+        if (cursor == null && limit == null) {
+            List<CourseSummary> courses = snapshot.courses();
+            return ConditionalGet.respond(request, selection.etag(snapshot.etag("courses", courses)),
+                    () -> selection.apply(courses));
+        }
+        CursorPage<CourseSummary> page = snapshot.coursePage(cursor, pagination.resolveLimit(limit));
+        return ConditionalGet.respond(request, selection.etag(VersionStamp.etag(page)), () -> selection.apply(page));
+    }
+
+    // ===============================
+    // GET FULL COURSE TREE
+    // Course → subjects → topics → materials/quizzes in a fixed number of queries
+    // ===============================
+    @GetMapping("/{id}/tree")
+    public ResponseEntity<CourseTreeDTO> getCourseTree(@PathVariable Long id) {
+        return courseTreeService.getTree(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     // ===============================
@@ -38,15 +82,16 @@ public class CourseController {
     // ===============================
     @GetMapping("/instructor/{instructorId}")
     @PreAuthorize("hasAnyAuthority('INSTRUCTOR', 'ADMIN')")
-    public ResponseEntity<List<CourseDTO>> getByInstructor(@PathVariable Long instructorId) {
-
-        List<CourseDTO> dtos = courseService
-                .getCoursesByInstructor(instructorId)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<?> getByInstructor(
+            @PathVariable Long instructorId,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(CourseSummary.class, fields, include);
+        List<CourseSummary> courses = snapshot.coursesByInstructor(instructorId);
+        return ConditionalGet.respond(request,
+                selection.etag(snapshot.etag("courses-by-instructor:" + instructorId, courses)),
+                () -> selection.apply(courses));
     }
 
     // ===============================
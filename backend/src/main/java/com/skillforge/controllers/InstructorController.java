@@ -0,0 +1,30 @@
+package com.skillforge.controller;
+
+import com.skillforge.dto.InstructorSummary;
+import com.skillforge.service.InstructorSummaryService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/instructor")
+@CrossOrigin(origins = { "http://localhost:3001" })
+public class InstructorController {
+
+    private final InstructorSummaryService summaryService;
+
+    public InstructorController(InstructorSummaryService summaryService) {
+        this.summaryService = summaryService;
+    }
+
+    // ===============================
+    // DASHBOARD SUMMARY (counts + recent attempts in one round trip)
+    // ===============================
+    @GetMapping("/{id}/summary")
+    @PreAuthorize("hasAnyAuthority('INSTRUCTOR', 'ADMIN')")
+    public ResponseEntity<InstructorSummary> getSummary(@PathVariable Long id) {
+        return summaryService.getSummary(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,59 @@
+package com.skillforge.controller;
+
+import com.skillforge.dto.Leaderboard;
+import com.skillforge.dto.LeaderboardEntry;
+import com.skillforge.leaderboard.Leaderboards;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/leaderboards")
+@CrossOrigin(origins = { "http://localhost:3001" })
+@PreAuthorize("hasAnyAuthority('STUDENT', 'INSTRUCTOR', 'ADMIN')")
+public class LeaderboardController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final Leaderboards leaderboards;
+
+    public LeaderboardController(Leaderboards leaderboards) {
+        this.leaderboards = leaderboards;
+    }
+
+    // ===============================
+    // QUIZ BOARDS (best score per student)
+    // ===============================
+    @GetMapping("/quizzes/{quizId}")
+    public ResponseEntity<Leaderboard> getQuizTop(@PathVariable Long quizId,
+                                                  @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboards.quizTop(quizId, clamp(limit)));
+    }
+
+    @GetMapping("/quizzes/{quizId}/users/{userId}")
+    public ResponseEntity<LeaderboardEntry> getQuizRank(@PathVariable Long quizId, @PathVariable Long userId) {
+        return leaderboards.quizStanding(quizId, userId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // ===============================
+    // TOPIC BOARDS (sum of best scores over the topic's quizzes)
+    // ===============================
+    @GetMapping("/topics/{topicId}")
+    public ResponseEntity<Leaderboard> getTopicTop(@PathVariable Long topicId,
+                                                   @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboards.topicTop(topicId, clamp(limit)));
+    }
+
+    @GetMapping("/topics/{topicId}/users/{userId}")
+    public ResponseEntity<LeaderboardEntry> getTopicRank(@PathVariable Long topicId, @PathVariable Long userId) {
+        return leaderboards.topicStanding(topicId, userId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
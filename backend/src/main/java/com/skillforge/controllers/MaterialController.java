@@ -1,5 +1,12 @@
 package com.skillforge.controller;
 
+import com.skillforge.cache.CatalogSnapshot;
+import com.skillforge.config.ConditionalGet;
+import com.skillforge.config.FieldSelection;
+import com.skillforge.config.PaginationConfig;
+import com.skillforge.dto.CursorPage;
+import com.skillforge.dto.MaterialSummary;
+import com.skillforge.dto.VersionStamp;
 import com.skillforge.model.Material;
 import com.skillforge.service.MaterialService;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,6 +14,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -22,12 +30,16 @@ import java.util.UUID;
 public class MaterialController {
 
     private final MaterialService materialService;
+    private final PaginationConfig pagination;
+    private final CatalogSnapshot snapshot;
 
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
 
-    public MaterialController(MaterialService materialService) {
+    public MaterialController(MaterialService materialService, PaginationConfig pagination, CatalogSnapshot snapshot) {
         this.materialService = materialService;
+        this.pagination = pagination;
+        this.snapshot = snapshot;
     }
 
     // =========================
@@ -86,8 +98,15 @@ public class MaterialController {
     // =========================
     @GetMapping("/topic/{topicId}")
     // ✅ FIXED: Changed @PathVariable Integer to Long
-    public ResponseEntity<List<Material>> getByTopic(@PathVariable Long topicId) {
-        return ResponseEntity.ok(materialService.findByTopicId(topicId));
+    public ResponseEntity<?> getByTopic(
+            @PathVariable Long topicId,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(MaterialSummary.class, fields);
+        List<MaterialSummary> materials = snapshot.materialsByTopic(topicId);
+        return ConditionalGet.respond(request,
+                selection.etag(snapshot.etag("materials-by-topic:" + topicId, materials)),
+                () -> selection.apply(materials));
     }
 
     // =========================
@@ -104,8 +123,19 @@ public class MaterialController {
     // GET ALL MATERIALS
     // =========================
     @GetMapping
-    public ResponseEntity<List<Material>> getAllMaterials() {
-        return ResponseEntity.ok(materialService.findAll());
+    public ResponseEntity<?> getAllMaterials(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(MaterialSummary.class, fields);
+        if (cursor == null && limit == null) {
+            List<MaterialSummary> materials = snapshot.materials();
+            return ConditionalGet.respond(request, selection.etag(snapshot.etag("materials", materials)),
+                    () -> selection.apply(materials));
+        }
+        CursorPage<MaterialSummary> page = snapshot.materialPage(cursor, pagination.resolveLimit(limit));
+        return ConditionalGet.respond(request, selection.etag(VersionStamp.etag(page)), () -> selection.apply(page));
     }
 
     // =========================
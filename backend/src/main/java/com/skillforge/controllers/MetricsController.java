@@ -0,0 +1,46 @@
+package com.skillforge.controller;
+
+import com.skillforge.config.ConnectionHoldMetrics;
+import com.skillforge.service.AttemptIngestion;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/metrics")
+@CrossOrigin(origins = { "http://localhost:3001" })
+@PreAuthorize("hasAuthority('ADMIN')")
+public class MetricsController {
+
+    private final ConnectionHoldMetrics connectionHoldMetrics;
+    private final AttemptIngestion attemptIngestion;
+
+    public MetricsController(ConnectionHoldMetrics connectionHoldMetrics, AttemptIngestion attemptIngestion) {
+        this.connectionHoldMetrics = connectionHoldMetrics;
+        this.attemptIngestion = attemptIngestion;
+    }
+
+    // ===============================
+    // CONNECTION HOLD TIME PER ENDPOINT
+    // ===============================
+    @GetMapping("/connections")
+    public ResponseEntity<List<ConnectionHoldMetrics.Stats>> getConnectionStats() {
+        return ResponseEntity.ok(connectionHoldMetrics.stats());
+    }
+
+    @DeleteMapping("/connections")
+    public ResponseEntity<Void> resetConnectionStats() {
+        connectionHoldMetrics.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    // ===============================
+    // WRITE-BEHIND ATTEMPT INGESTION (buffer, flushed batches, rejections)
+    // ===============================
+    @GetMapping("/attempt-ingestion")
+    public ResponseEntity<AttemptIngestion.Stats> getAttemptIngestionStats() {
+        return ResponseEntity.ok(attemptIngestion.stats());
+    }
+}
@@ -0,0 +1,75 @@
+package com.skillforge.controller;
+
+import com.skillforge.dto.BankQuestionRequest;
+import com.skillforge.model.BankQuestion;
+import com.skillforge.model.Difficulty;
+import com.skillforge.service.QuestionBankService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Per-topic question banks that blueprint quizzes draw from (see QuestionBank).
+ * Unlike the public quiz payload, these rows include the correct option.
+ */
+@RestController
+@RequestMapping("/api/question-bank")
+@CrossOrigin(origins = {"http://localhost:3001"})
+@PreAuthorize("hasAnyAuthority('INSTRUCTOR', 'ADMIN')")
+public class QuestionBankController {
+
+    private final QuestionBankService service;
+
+    public QuestionBankController(QuestionBankService service) {
+        this.service = service;
+    }
+
+    @GetMapping("/topic/{topicId}")
+    public List<BankQuestion> getByTopic(@PathVariable Long topicId) {
+        return service.getByTopic(topicId);
+    }
+
+    @PostMapping
+    public ResponseEntity<?> create(@RequestBody BankQuestionRequest request) {
+        if (request.getTopicId() == null) {
+            return ResponseEntity.badRequest().body("Topic selection is required.");
+        }
+        String error = validate(request);
+        return error != null ? ResponseEntity.badRequest().body(error) : ResponseEntity.ok(service.create(request));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<?> update(@PathVariable Long id, @RequestBody BankQuestionRequest request) {
+        String error = validate(request);
+        return error != null ? ResponseEntity.badRequest().body(error) : ResponseEntity.ok(service.update(id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        service.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static String validate(BankQuestionRequest request) {
+        if (request.getQuestionText() == null || request.getQuestionText().isBlank()) {
+            return "Question text is required.";
+        }
+        if (request.getOptionA() == null || request.getOptionB() == null
+                || request.getOptionC() == null || request.getOptionD() == null) {
+            return "All four options are required.";
+        }
+        if (request.getCorrectOption() == null || !List.of("A", "B", "C", "D")
+                .contains(request.getCorrectOption().trim().toUpperCase(Locale.ROOT))) {
+            return "Correct option must be one of A, B, C, D.";
+        }
+        if (request.getDifficulty() != null && Arrays.stream(Difficulty.values())
+                .noneMatch(level -> level.name().equalsIgnoreCase(request.getDifficulty().trim()))) {
+            return "Difficulty must be one of EASY, MEDIUM, HARD.";
+        }
+        return null;
+    }
+}
@@ -1,13 +1,30 @@
 package com.skillforge.controller;
 
+import com.skillforge.config.ConditionalGet;
+import com.skillforge.config.FieldSelection;
+import com.skillforge.config.JsonStreaming;
+import com.skillforge.config.PaginationConfig;
 import com.skillforge.model.*;
+import com.skillforge.security.CurrentUser;
+import com.skillforge.service.ItemStatistics;
+import com.skillforge.service.PublicQuizCache;
+import com.skillforge.service.QuestionBank;
+import com.skillforge.service.QuestionBankService;
 import com.skillforge.service.QuizService;
+import com.skillforge.dto.AttemptResult;
+import com.skillforge.dto.AttemptSubmission;
+import com.skillforge.dto.BlueprintRequest;
+import com.skillforge.dto.ItemAnalysis;
 import com.skillforge.dto.QuizRequest;
+import com.skillforge.dto.QuizSummary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/quizzes")
@@ -18,6 +35,30 @@ public class QuizController {
     @Autowired
     private QuizService quizService;
 
+    @Autowired
+    private PaginationConfig pagination;
+
+    @Autowired
+    private JsonStreaming jsonStreaming;
+
+    @Autowired
+    private ItemStatistics itemStatistics;
+
+    @Autowired
+    private PublicQuizCache publicQuizCache;
+
+    @Autowired
+    private QuestionBank questionBank;
+
+    @Autowired
+    private QuestionBankService questionBankService;
+
+    @Autowired
+    private CurrentUser currentUser;
+
+    // Everything in QuizSummary except the question count, which costs a subquery per row
+    private static final Set<String> UNCOUNTED_FIELDS = Set.of("id", "displayId", "title", "topicId", "createdAt");
+
     // =========================================================================
     // INSTRUCTOR & ADMIN ENDPOINTS
     // =========================================================================
@@ -25,8 +66,19 @@ public class QuizController {
     /** ✅ GET all quizzes for the management table */
     @PreAuthorize("hasAnyAuthority('INSTRUCTOR', 'ADMIN')")
     @GetMapping
-    public ResponseEntity<List<Quiz>> getAllQuizzes() {
-        return ResponseEntity.ok(quizService.getAllQuizzes());
+    public ResponseEntity<?> getAllQuizzes(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(QuizSummary.class, fields);
+        boolean withCount = !selection.isWithin(UNCOUNTED_FIELDS);
+        String etag = selection.etag(quizService.quizListETag(cursor, limit));
+        if (cursor == null && limit == null) {
+            return ConditionalGet.respond(request, etag, () -> selection.apply(quizService.getAllQuizzes(withCount)));
+        }
+        return ConditionalGet.respond(request, etag,
+                () -> selection.apply(quizService.getQuizPage(cursor, pagination.resolveLimit(limit), withCount)));
     }
 
     /** ✅ AI Generation Endpoint */
@@ -42,17 +94,51 @@ public class QuizController {
         return ResponseEntity.ok(quizService.generateAndSave(request.getTitle(), request.getTopicId()));
     }
 
-    /** ✅ GET all student attempts (For the Instructor Reports Page) */
+    /** ✅ Randomized quiz: every student gets their own draw from the topic's question bank */
+    @PreAuthorize("hasAnyAuthority('INSTRUCTOR', 'ADMIN')")
+    @PostMapping("/blueprints")
+    public ResponseEntity<?> createBlueprint(@RequestBody BlueprintRequest request) {
+        if (request.getTitle() == null || request.getTitle().trim().length() < 5) {
+            return ResponseEntity.badRequest().body("Title must be at least 5 characters.");
+        }
+        if (request.getTopicId() == null) {
+            return ResponseEntity.badRequest().body("Topic selection is required.");
+        }
+        return ResponseEntity.ok(questionBankService.createBlueprint(request));
+    }
+
+    /** ✅ GET all student attempts (For the Instructor Reports Page)
+     * Without ?cursor / ?limit the full table is streamed row by row (constant memory) */
     @PreAuthorize("hasAnyAuthority('INSTRUCTOR', 'ADMIN')")
     @GetMapping("/attempts")
-    public ResponseEntity<List<QuizAttempt>> getAllAttempts() {
-        return ResponseEntity.ok(quizService.getAllAttempts());
+    public ResponseEntity<?> getAllAttempts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (cursor == null && limit == null) {
+            return jsonStreaming.fromStream(quizService::streamAllAttempts);
+        }
+        return ResponseEntity.ok(quizService.getAttemptPage(cursor, pagination.resolveLimit(limit)));
+    }
+
+    /** ✅ Live item analysis: difficulty, discrimination and option picks per question */
+    @PreAuthorize("hasAnyAuthority('INSTRUCTOR', 'ADMIN')")
+    @GetMapping("/{quizId}/item-analysis")
+    public ResponseEntity<ItemAnalysis> getItemAnalysis(@PathVariable Long quizId) {
+        return itemStatistics.analyze(quizId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @PreAuthorize("hasAnyAuthority('INSTRUCTOR', 'ADMIN')")
     @GetMapping("/topic/{topicId}")
-    public ResponseEntity<List<Quiz>> getQuizzesByTopic(@PathVariable Long topicId) {
-        return ResponseEntity.ok(quizService.getQuizzesByTopic(topicId));
+    public ResponseEntity<?> getQuizzesByTopic(
+            @PathVariable Long topicId,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(QuizSummary.class, fields);
+        boolean withCount = !selection.isWithin(UNCOUNTED_FIELDS);
+        return ConditionalGet.respond(request, selection.etag(quizService.byTopicETag(topicId)),
+                () -> selection.apply(quizService.getQuizzesByTopic(topicId, withCount)));
     }
 
     // =========================================================================
@@ -62,30 +148,54 @@ public class QuizController {
     /** ✅ GET all available quizzes for the Student Lobby */
     @PreAuthorize("hasAnyAuthority('STUDENT', 'INSTRUCTOR', 'ADMIN')")
     @GetMapping("/all")
-    public ResponseEntity<List<Quiz>> getQuizzesForStudents() {
-        return ResponseEntity.ok(quizService.getAllQuizzes());
+    public ResponseEntity<?> getQuizzesForStudents(
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(QuizSummary.class, fields);
+        boolean withCount = !selection.isWithin(UNCOUNTED_FIELDS);
+        return ConditionalGet.respond(request, selection.etag(quizService.quizListETag(null, null)),
+                () -> selection.apply(quizService.getAllQuizzes(withCount)));
     }
 
-    /** ✅ Get Quiz by Public Display ID (Used by TakeQuiz.jsx) */
+    /** ✅ Get Quiz by Public Display ID (Used by TakeQuiz.jsx)
+     * Blueprint quizzes are assembled for the logged-in user on every request, from memory */
     @PreAuthorize("hasAnyAuthority('STUDENT', 'INSTRUCTOR', 'ADMIN')")
     @GetMapping("/public/{displayId}")
-    public ResponseEntity<Quiz> getPublicQuiz(@PathVariable String displayId) {
-        return quizService.findByDisplayId(displayId)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<?> getPublicQuiz(@PathVariable String displayId, WebRequest request) {
+        if (questionBank.isBlueprint(displayId)) {
+            // Never a client-supplied id: students could fetch each other's variants
+            Long userId = currentUser.id().orElse(null);
+            if (userId == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+            return questionBank.assemble(displayId, userId)
+                    .map(assembly -> ResponseEntity.ok(assembly.quiz()))
+                    .orElse(ResponseEntity.notFound().build());
+        }
+        return publicQuizCache.get(displayId)
+                .map(quiz -> ConditionalGet.respondJson(request, quiz.etag(), quiz.json()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    /** ✅ Submit Quiz Score after completion */
+    /** ✅ Submit chosen options; the score is computed on the server */
     @PreAuthorize("hasAuthority('STUDENT')")
     @PostMapping("/submit-attempt")
-    public ResponseEntity<?> submitAttempt(@RequestBody QuizAttempt attempt) {
-        if (attempt.getScore() == null || attempt.getTotalQuestions() == null) {
-            return ResponseEntity.badRequest().body("Score and total questions are required.");
+    public ResponseEntity<?> submitAttempt(@RequestBody AttemptSubmission submission) {
+        Long userId = currentUser.id().orElse(null);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        // The attempt belongs to whoever is logged in, whatever the body says
+        submission.setUserId(userId);
+        if (submission.getQuizId() == null) {
+            return ResponseEntity.badRequest().body("Quiz is required.");
         }
-        if (attempt.getScore() > attempt.getTotalQuestions()) {
-            return ResponseEntity.badRequest().body("Invalid score data: Score cannot exceed total questions.");
+        if (submission.getAnswers() == null) {
+            return ResponseEntity.badRequest().body("Answers are required.");
         }
-        return ResponseEntity.ok(quizService.saveAttempt(attempt));
+        AttemptResult result = quizService.submitAttempt(submission);
+        // No id yet: logged for write-behind ingestion, stored in the database shortly
+        return result.attemptId() == null ? ResponseEntity.accepted().body(result) : ResponseEntity.ok(result);
     }
 
     /** * ✅ FIXED: Get history for a specific student
@@ -0,0 +1,82 @@
+package com.skillforge.controller;
+
+import com.skillforge.config.PaginationConfig;
+import com.skillforge.dto.SearchHit;
+import com.skillforge.dto.Suggestion;
+import com.skillforge.event.CatalogChangedEvent;
+import com.skillforge.search.SearchIndex;
+import com.skillforge.search.SuggestionIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/search")
+@CrossOrigin(origins = { "http://localhost:3001" })
+public class SearchController {
+
+    // Suggestions are for a dropdown; more than this is never shown
+    private static final int MAX_SUGGESTIONS = 20;
+
+    private final SearchIndex searchIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final PaginationConfig pagination;
+
+    public SearchController(SearchIndex searchIndex, SuggestionIndex suggestionIndex, PaginationConfig pagination) {
+        this.searchIndex = searchIndex;
+        this.suggestionIndex = suggestionIndex;
+        this.pagination = pagination;
+    }
+
+    // ===============================
+    // FULL-TEXT SEARCH
+    // /search?q=spring+boot&type=COURSE&type=TOPIC&limit=20
+    // Served from the in-memory index; no database access
+    // ===============================
+    @GetMapping
+    @PreAuthorize("hasAnyAuthority('STUDENT', 'INSTRUCTOR', 'ADMIN')")
+    public ResponseEntity<?> search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "type", required = false) List<CatalogChangedEvent.Type> types,
+            @RequestParam(required = false) Integer limit) {
+        if (query == null || query.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Query must not be empty"));
+        }
+        List<SearchHit> hits = searchIndex.search(query, typeFilter(types), pagination.resolveLimit(limit));
+        return ResponseEntity.ok(hits);
+    }
+
+    // ===============================
+    // AUTOCOMPLETE (course, subject and topic names)
+    // /search/suggest?q=spr&limit=8 — called per keystroke, answered from memory
+    // ===============================
+    @GetMapping("/suggest")
+    @PreAuthorize("hasAnyAuthority('STUDENT', 'INSTRUCTOR', 'ADMIN')")
+    public ResponseEntity<List<Suggestion>> suggest(
+            @RequestParam("q") String prefix,
+            @RequestParam(value = "type", required = false) List<CatalogChangedEvent.Type> types,
+            @RequestParam(defaultValue = "8") int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return ResponseEntity.ok(suggestionIndex.suggest(prefix, typeFilter(types), size));
+    }
+
+    // ===============================
+    // INDEX STATS (ADMIN)
+    // ===============================
+    @GetMapping("/stats")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Map<String, Object>> stats() {
+        return ResponseEntity.ok(searchIndex.stats());
+    }
+
+    private static Set<CatalogChangedEvent.Type> typeFilter(List<CatalogChangedEvent.Type> types) {
+        return types == null || types.isEmpty()
+                ? EnumSet.allOf(CatalogChangedEvent.Type.class)
+                : EnumSet.copyOf(types);
+    }
+}
@@ -0,0 +1,38 @@
+package com.skillforge.controller;
+
+import com.skillforge.dto.ScoreDistribution;
+import com.skillforge.stats.ScoreStatistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/stats")
+@CrossOrigin(origins = { "http://localhost:3001" })
+@PreAuthorize("hasAnyAuthority('INSTRUCTOR', 'ADMIN')")
+public class StatsController {
+
+    private final ScoreStatistics scoreStatistics;
+
+    public StatsController(ScoreStatistics scoreStatistics) {
+        this.scoreStatistics = scoreStatistics;
+    }
+
+    // ===============================
+    // SCORE DISTRIBUTIONS (mean, percentiles, histogram in % of questions)
+    // ===============================
+    @GetMapping("/quizzes/{quizId}")
+    public ResponseEntity<ScoreDistribution> getQuizStats(@PathVariable Long quizId) {
+        return ResponseEntity.ok(scoreStatistics.forQuiz(quizId));
+    }
+
+    @GetMapping("/topics/{topicId}")
+    public ResponseEntity<ScoreDistribution> getTopicStats(@PathVariable Long topicId) {
+        return ResponseEntity.ok(scoreStatistics.forTopic(topicId));
+    }
+
+    @GetMapping("/courses/{courseId}")
+    public ResponseEntity<ScoreDistribution> getCourseStats(@PathVariable Long courseId) {
+        return ResponseEntity.ok(scoreStatistics.forCourse(courseId));
+    }
+}
@@ -1,6 +1,14 @@
 package com.skillforge.controllers;
 
+import com.skillforge.cache.CatalogSnapshot;
+import com.skillforge.config.ConditionalGet;
+import com.skillforge.config.FieldSelection;
+import com.skillforge.config.PaginationConfig;
+import com.skillforge.dto.BulkImportResult;
+import com.skillforge.dto.CursorPage;
 import com.skillforge.dto.SubjectRequestDTO;
+import com.skillforge.dto.SubjectSummary;
+import com.skillforge.dto.VersionStamp;
 import com.skillforge.model.Subject;
 import com.skillforge.model.Course;
 import com.skillforge.model.User;
@@ -12,8 +20,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,19 +39,50 @@ public class SubjectController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PaginationConfig pagination;
+
+    @Autowired
+    private CatalogSnapshot snapshot;
+
     @GetMapping
-    public ResponseEntity<List<Subject>> getAllSubjects() {
-        return ResponseEntity.ok(service.listAll());
+    public ResponseEntity<?> getAllSubjects(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(SubjectSummary.class, fields);
+        if (cursor == null && limit == null) {
+            List<SubjectSummary> subjects = snapshot.subjects();
+            return ConditionalGet.respond(request, selection.etag(snapshot.etag("subjects", subjects)),
+                    () -> selection.apply(subjects));
+        }
+        CursorPage<SubjectSummary> page = snapshot.subjectPage(cursor, pagination.resolveLimit(limit));
+        return ConditionalGet.respond(request, selection.etag(VersionStamp.etag(page)), () -> selection.apply(page));
     }
 
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<List<Subject>> getSubjectsByCourse(@PathVariable Long courseId) {
-        return ResponseEntity.ok(service.listByCourse(courseId));
+    public ResponseEntity<?> getSubjectsByCourse(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(SubjectSummary.class, fields);
+        List<SubjectSummary> subjects = snapshot.subjectsByCourse(courseId);
+        return ConditionalGet.respond(request,
+                selection.etag(snapshot.etag("subjects-by-course:" + courseId, subjects)),
+                () -> selection.apply(subjects));
     }
 
     @GetMapping("/instructor/{instructorId}")
-    public ResponseEntity<List<Subject>> getSubjectsByInstructor(@PathVariable Long instructorId) {
-        return ResponseEntity.ok(service.listByInstructor(instructorId));
+    public ResponseEntity<?> getSubjectsByInstructor(
+            @PathVariable Long instructorId,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(SubjectSummary.class, fields);
+        List<SubjectSummary> subjects = snapshot.subjectsByInstructor(instructorId);
+        return ConditionalGet.respond(request,
+                selection.etag(snapshot.etag("subjects-by-instructor:" + instructorId, subjects)),
+                () -> selection.apply(subjects));
     }
 
     @PreAuthorize("hasAnyAuthority('INSTRUCTOR', 'ADMIN')")
@@ -86,45 +125,17 @@ public class SubjectController {
         }
     }
 
+    // Bulk import: ids are resolved with IN queries, rows are validated in memory and
+    // inserted in JDBC batches. Each row reports its new id or why it was rejected.
     @PreAuthorize("hasAnyAuthority('INSTRUCTOR', 'ADMIN')")
     @PostMapping("/bulk")
     public ResponseEntity<?> addMultipleSubjects(@RequestBody List<SubjectRequestDTO> requests) {
         try {
-            List<Subject> subjects = new ArrayList<>();
-
-            for (SubjectRequestDTO request : requests) {
-                // Validate course
-                Optional<Course> courseOpt = courseRepository.findById(request.getCourseId());
-                if (courseOpt.isEmpty()) {
-                    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                            .body("Course not found with ID: " + request.getCourseId());
-                }
-
-                // Validate instructor
-                Optional<User> instructorOpt = userRepository.findById(request.getInstructorId());
-                if (instructorOpt.isEmpty()) {
-                    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                            .body("User not found with ID: " + request.getInstructorId());
-                }
-
-                User instructor = instructorOpt.get();
-                if (!"INSTRUCTOR".equals(instructor.getRole())) {
-                    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                            .body("User with ID " + request.getInstructorId() + " is not an instructor");
-                }
-
-                // Create subject
-                Subject subject = new Subject();
-                subject.setName(request.getName());
-                subject.setCourse(courseOpt.get());
-                subject.setInstructor(instructor);
-                subject.setDescription(request.getDescription() != null ? request.getDescription() : "");
-
-                subjects.add(subject);
+            BulkImportResult result = service.importAll(requests);
+            if (result.created() == 0 && result.rejected() > 0) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(result);
             }
-
-            List<Subject> savedSubjects = service.saveAll(subjects);
-            return ResponseEntity.ok(savedSubjects);
+            return ResponseEntity.ok(result);
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
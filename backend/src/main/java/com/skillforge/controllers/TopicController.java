@@ -1,15 +1,26 @@
 package com.skillforge.controller;
 
+import com.skillforge.cache.CatalogSnapshot;
+import com.skillforge.config.ConditionalGet;
+import com.skillforge.config.FieldSelection;
+import com.skillforge.config.PaginationConfig;
+import com.skillforge.dto.CursorPage;
+import com.skillforge.dto.TopicSummary;
+import com.skillforge.dto.VersionStamp;
 import com.skillforge.model.Topic;
+import com.skillforge.model.TopicContent;
 import com.skillforge.model.Subject;
 import com.skillforge.service.TopicService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/topics")
@@ -17,9 +28,16 @@ import java.util.Map;
 public class TopicController {
 
     private final TopicService service;
+    private final PaginationConfig pagination;
+    private final CatalogSnapshot snapshot;
 
-    public TopicController(TopicService service) {
+    // Topic properties the snapshot row carries; anything else needs the entity
+    private static final Set<String> SUMMARY_FIELDS = Set.of("id", "name", "type");
+
+    public TopicController(TopicService service, PaginationConfig pagination, CatalogSnapshot snapshot) {
         this.service = service;
+        this.pagination = pagination;
+        this.snapshot = snapshot;
     }
 
     @PostMapping(value = "/upload", consumes = {"multipart/form-data"})
@@ -52,20 +70,67 @@ public class TopicController {
 
     @PreAuthorize("hasAnyAuthority('STUDENT','INSTRUCTOR','ADMIN')")
     @GetMapping
-    public ResponseEntity<List<Topic>> getAllTopics() {
-        return ResponseEntity.ok(service.listAll());
+    public ResponseEntity<?> getAllTopics(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(TopicSummary.class, fields);
+        if (cursor == null && limit == null) {
+            List<TopicSummary> topics = snapshot.topics();
+            return ConditionalGet.respond(request, selection.etag(snapshot.etag("topics", topics)),
+                    () -> selection.apply(topics));
+        }
+        CursorPage<TopicSummary> page = snapshot.topicPage(cursor, pagination.resolveLimit(limit));
+        return ConditionalGet.respond(request, selection.etag(VersionStamp.etag(page)), () -> selection.apply(page));
     }
 
+    // Polled by the student dashboard: unchanged lists are answered with 304
     @PreAuthorize("hasAnyAuthority('STUDENT','INSTRUCTOR','ADMIN')")
     @GetMapping("/subject/{subjectId}")
-    public ResponseEntity<List<Topic>> getTopicsBySubject(@PathVariable Long subjectId) {
-        return ResponseEntity.ok(service.listBySubject(subjectId));
+    public ResponseEntity<?> getTopicsBySubject(
+            @PathVariable Long subjectId,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(TopicSummary.class, fields);
+        List<TopicSummary> topics = snapshot.topicsBySubject(subjectId);
+        return ConditionalGet.respond(request,
+                selection.etag(snapshot.etag("topics-by-subject:" + subjectId, topics)),
+                () -> selection.apply(topics));
     }
 
+    // ?fields=id,name,type is answered from the snapshot without loading the entity;
+    // the subject is only written with ?include=subject
     @PreAuthorize("hasAnyAuthority('STUDENT','INSTRUCTOR','ADMIN')")
     @GetMapping("/{id}")
-    public ResponseEntity<Topic> getTopicById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getById(id));
+    public ResponseEntity<?> getTopicById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(Topic.class, fields, include);
+        if (selection.isWithin(SUMMARY_FIELDS)) {
+            Optional<TopicSummary> row = snapshot.topic(id);
+            if (row.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ConditionalGet.respond(request, selection.etag(VersionStamp.etag(row.get())),
+                    () -> selection.forType(TopicSummary.class).apply(row.get()));
+        }
+        return ConditionalGet.respond(request, selection.etag(service.byIdETag(id)),
+                () -> selection.apply(service.getById(id)));
+    }
+
+    // Lesson text lives apart from the topic row; lists and GET /topics/{id} never carry it
+    @PreAuthorize("hasAnyAuthority('STUDENT','INSTRUCTOR','ADMIN')")
+    @GetMapping("/{id}/content")
+    public ResponseEntity<TopicContent> getTopicContent(@PathVariable Long id, WebRequest request) {
+        Optional<TopicContent> content = service.getContent(id);
+        if (content.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ConditionalGet.respond(request,
+                VersionStamp.etag("topic-content", id, content.get().getVersion()), content::get);
     }
 
     @PreAuthorize("hasAnyAuthority('INSTRUCTOR','ADMIN')")
@@ -1,5 +1,11 @@
 package com.skillforge.controller;
 
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.skillforge.config.JsonStreaming;
+import com.skillforge.config.PaginationConfig;
+import com.skillforge.dto.CursorPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,35 +19,80 @@ import java.util.*;
 @CrossOrigin(origins = { "http://localhost:3001" })
 public class UserController {
 
+    // The bcrypt check runs in SQL so password hashes never leave the database
+    private static final String USER_COLUMNS = "id, username, name, email, phone, college, role, "
+            + "password LIKE '$2a$%' AS has_valid_password";
+
     @Autowired
     private DataSource dataSource;
 
+    @Autowired
+    private PaginationConfig pagination;
+
+    @Autowired
+    private JsonStreaming jsonStreaming;
+
     // GET ALL USERS
+    // ?cursor / ?limit switch to keyset pagination (WHERE id > ? ORDER BY id LIMIT ?)
+    // Without them the whole table is streamed: one row in memory at a time, no per-row Map
     @GetMapping
-    public ResponseEntity<?> getAllUsers() {
-        List<Map<String, Object>> users = new ArrayList<>();
-        String query = "SELECT id, username, name, email, password, phone, college, role FROM users";
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return getUserPage(CursorPage.decode(cursor), pagination.resolveLimit(limit));
+        }
+
+        String query = "SELECT " + USER_COLUMNS + " FROM users ORDER BY id";
+
+        return jsonStreaming.fromRows(json -> {
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(query,
+                         ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+                stmt.setFetchSize(JsonStreaming.STREAMING_FETCH_SIZE);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        writeUserRow(json, rs);
+                    }
+                }
+            }
+        });
+    }
+
+    private void writeUserRow(JsonGenerator json, ResultSet rs) throws Exception {
+        json.writeStartObject();
+        json.writeNumberField("id", rs.getInt("id"));
+        json.writeStringField("username", rs.getString("username"));
+        json.writeStringField("name", rs.getString("name"));
+        json.writeStringField("email", rs.getString("email"));
+        json.writeStringField("phone", rs.getString("phone"));
+        json.writeStringField("college", rs.getString("college"));
+        json.writeStringField("role", rs.getString("role"));
+        json.writeBooleanField("hasValidPassword", rs.getBoolean("has_valid_password"));
+        json.writeEndObject();
+    }
+
+    // A page row: serialized as the JSON writeUserRow produced, id kept for the cursor
+    private record UserRow(long id, @JsonValue TokenBuffer json) {}
+
+    private ResponseEntity<?> getUserPage(long afterId, int limit) {
+        List<UserRow> users = new ArrayList<>();
+        String query = "SELECT " + USER_COLUMNS + " FROM users WHERE id > ? ORDER BY id LIMIT ?";
 
         try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                Map<String, Object> user = new HashMap<>();
-                user.put("id", rs.getInt("id"));
-                user.put("username", rs.getString("username"));
-                user.put("name", rs.getString("name"));
-                user.put("email", rs.getString("email"));
-                user.put("phone", rs.getString("phone"));
-                user.put("college", rs.getString("college"));
-                user.put("role", rs.getString("role"));
-
-                String pwd = rs.getString("password");
-                user.put("hasValidPassword", pwd != null && pwd.startsWith("$2a$"));
-
-                users.add(user);
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setLong(1, afterId);
+            stmt.setInt(2, limit + 1); // one extra row tells us if there is a next page
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    TokenBuffer json = new TokenBuffer(null, false);
+                    writeUserRow(json, rs);
+                    users.add(new UserRow(rs.getLong("id"), json));
+                }
             }
-            return ResponseEntity.ok(users);
+            return ResponseEntity.ok(CursorPage.of(users, limit, UserRow::id));
 
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -0,0 +1,9 @@
+package com.skillforge.dto;
+
+/**
+ * One question of a quiz answer key (see QuizGrader).
+ */
+public record AnswerKeyRow(
+        Long questionId,
+        String correctOption
+) {}
@@ -0,0 +1,13 @@
+package com.skillforge.dto;
+
+/**
+ * A bank question as one student sees it: options already in that student's order.
+ */
+public record AssembledQuestion(
+        Long id,
+        String questionText,
+        String optionA,
+        String optionB,
+        String optionC,
+        String optionD
+) {}
@@ -0,0 +1,16 @@
+package com.skillforge.dto;
+
+import java.util.List;
+
+/**
+ * The concrete quiz a blueprint yields for one student. Same shape as a regular quiz in
+ * GET /api/quizzes/public/{displayId}; the question ids go back with the submission.
+ */
+public record AssembledQuiz(
+        Long id,
+        String displayId,
+        String title,
+        Long topicId,
+        Long userId,
+        List<AssembledQuestion> questions
+) {}
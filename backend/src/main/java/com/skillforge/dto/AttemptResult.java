@@ -0,0 +1,17 @@
+package com.skillforge.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Graded attempt returned to the student: per-question right/wrong,
+ * without revealing the correct options.
+ */
+public record AttemptResult(
+        Long attemptId,
+        Long quizId,
+        int score,
+        int totalQuestions,
+        List<Boolean> correct,
+        LocalDateTime timestamp
+) {}
@@ -0,0 +1,27 @@
+package com.skillforge.dto;
+
+import java.util.List;
+
+/**
+ * Body of POST /api/quizzes/submit-attempt: the chosen option letter ("A".."D")
+ * for each question, in the order the quiz lists them; null or "" = unanswered.
+ * The score is computed on the server, and userId is replaced by the logged-in user.
+ * For a randomized (blueprint) quiz, questionIds are the ids of the questions as they
+ * were shown, so a bank edit in between is caught.
+ */
+public class AttemptSubmission {
+    private Long userId;
+    private Long quizId;
+    private List<String> answers;
+    private List<Long> questionIds;
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public Long getQuizId() { return quizId; }
+    public void setQuizId(Long quizId) { this.quizId = quizId; }
+    public List<String> getAnswers() { return answers; }
+    public void setAnswers(List<String> answers) { this.answers = answers; }
+    public List<Long> getQuestionIds() { return questionIds; }
+    public void setQuestionIds(List<Long> questionIds) { this.questionIds = questionIds; }
+}
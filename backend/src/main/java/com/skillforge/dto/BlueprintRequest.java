@@ -0,0 +1,33 @@
+package com.skillforge.dto;
+
+import java.util.List;
+
+/**
+ * Body of POST /api/quizzes/blueprints: how many bank questions of each difficulty
+ * every student gets, optionally only from questions carrying one of the tags.
+ */
+public class BlueprintRequest {
+    private String title;
+    private Long topicId;
+    private int easyCount;
+    private int mediumCount;
+    private int hardCount;
+    private List<String> tags;
+    private Boolean shuffleOptions;
+
+    // Getters and Setters
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public Long getTopicId() { return topicId; }
+    public void setTopicId(Long topicId) { this.topicId = topicId; }
+    public int getEasyCount() { return easyCount; }
+    public void setEasyCount(int easyCount) { this.easyCount = easyCount; }
+    public int getMediumCount() { return mediumCount; }
+    public void setMediumCount(int mediumCount) { this.mediumCount = mediumCount; }
+    public int getHardCount() { return hardCount; }
+    public void setHardCount(int hardCount) { this.hardCount = hardCount; }
+    public List<String> getTags() { return tags; }
+    public void setTags(List<String> tags) { this.tags = tags; }
+    public Boolean getShuffleOptions() { return shuffleOptions; }
+    public void setShuffleOptions(Boolean shuffleOptions) { this.shuffleOptions = shuffleOptions; }
+}
@@ -0,0 +1,20 @@
+package com.skillforge.dto;
+
+/**
+ * A quiz blueprint joined with its quiz row, as loaded into the bank index (see QuestionBank).
+ */
+public record BlueprintRow(
+        Long quizId,
+        String displayId,
+        String title,
+        Long topicId,
+        int easyCount,
+        int mediumCount,
+        int hardCount,
+        String tags,
+        String easyQuestionIds,
+        String mediumQuestionIds,
+        String hardQuestionIds,
+        boolean shuffleOptions,
+        Long seed
+) {}
@@ -0,0 +1,20 @@
+package com.skillforge.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: one row per request element, in request order.
+ * A row has either the new id or the reason it was rejected.
+ */
+public record BulkImportResult(
+        int created,
+        int rejected,
+        List<Row> rows
+) {
+
+    public record Row(
+            int index,    // Position in the request array
+            Long id,      // Id of the created row (null when rejected)
+            String error  // Validation message (null when created)
+    ) {}
+}
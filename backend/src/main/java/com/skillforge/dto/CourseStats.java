@@ -0,0 +1,36 @@
+package com.skillforge.dto;
+
+import java.util.Map;
+
+/**
+ * Per-course counts on the instructor summary. Built from a grouped subject/topic
+ * count, then completed with the material and quiz activity aggregates.
+ * averageScore is a percentage over all attempts, null without attempts.
+ */
+public record CourseStats(
+        Long courseId,
+        String title,
+        long subjects,
+        long topics,
+        long materials,
+        long quizzes,
+        long attempts,
+        long students,
+        Double averageScore
+) {
+
+    // Used by the JPQL constructor expression
+    public CourseStats(Long courseId, String title, long subjects, long topics) {
+        this(courseId, title, subjects, topics, 0, 0, 0, 0, null);
+    }
+
+    public CourseStats with(Map<Long, Long> materialsByCourse, Map<Long, QuizActivity> activityByCourse) {
+        QuizActivity activity = activityByCourse.get(courseId);
+        long materialCount = materialsByCourse.getOrDefault(courseId, 0L);
+        if (activity == null) {
+            return new CourseStats(courseId, title, subjects, topics, materialCount, 0, 0, 0, null);
+        }
+        return new CourseStats(courseId, title, subjects, topics, materialCount,
+                activity.quizzes(), activity.attempts(), activity.students(), activity.averageScore());
+    }
+}
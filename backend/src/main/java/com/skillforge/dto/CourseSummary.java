@@ -0,0 +1,42 @@
+package com.skillforge.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only row for course listings, selected column by column.
+ * subjects only carries id and name (used by the topic form's subject picker).
+ */
+public record CourseSummary(
+        Long id,
+        String title,
+        String description,
+        String difficulty,
+        Integer duration,
+        LocalDateTime createdAt,
+        Long instructorId,
+        String instructorName,
+        List<SubjectRef> subjects
+) {
+
+    // Used by the JPQL constructor expression; subjects are attached afterwards
+    public CourseSummary(Long id, String title, String description, String difficulty, Integer duration,
+                         LocalDateTime createdAt, Long instructorId, String instructorName) {
+        this(id, title, description, difficulty, duration, createdAt, instructorId, instructorName, List.of());
+    }
+
+    public CourseSummary withSubjects(List<SubjectRef> subjects) {
+        return new CourseSummary(id, title, description, difficulty, duration,
+                createdAt, instructorId, instructorName, List.copyOf(subjects));
+    }
+
+    /** Attaches each course's subject refs (loaded separately with one IN query). */
+    public static List<CourseSummary> withSubjects(List<CourseSummary> courses, List<SubjectRef> refs) {
+        Map<Long, List<SubjectRef>> byCourse = refs.stream().collect(Collectors.groupingBy(SubjectRef::courseId));
+        return courses.stream()
+                .map(course -> course.withSubjects(byCourse.getOrDefault(course.id(), List.of())))
+                .toList();
+    }
+}
@@ -0,0 +1,64 @@
+package com.skillforge.dto;
+
+import com.skillforge.model.Material;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Course → Subjects → Topics → Materials / Quizzes, assembled in memory
+ * by CourseTreeService from a fixed number of queries.
+ */
+@Data
+public class CourseTreeDTO {
+    private Long id;
+    private String title;
+    private String description;
+    private String difficulty;
+    private Integer duration;
+    private Long instructorId;
+    private String instructorName;
+    private LocalDateTime createdAt;
+    private List<SubjectNode> subjects = new ArrayList<>();
+
+    @Data
+    public static class SubjectNode {
+        private Long id;
+        private String name;
+        private String description;
+        private Long instructorId;
+        private String instructorName;
+        private LocalDateTime createdAt;
+        private List<TopicNode> topics = new ArrayList<>();
+    }
+
+    @Data
+    public static class TopicNode {
+        private Long id;
+        private String name;
+        private String type;
+        private List<MaterialNode> materials = new ArrayList<>();
+        private List<QuizNode> quizzes = new ArrayList<>();
+    }
+
+    @Data
+    public static class MaterialNode {
+        private Long id;
+        private String title;
+        private Material.MaterialType type;
+        private String filePath;
+        private String link;
+        private String fileType;
+        private LocalDateTime uploadedAt;
+    }
+
+    @Data
+    public static class QuizNode {
+        private Long id;
+        private String displayId;
+        private String title;
+        private LocalDateTime createdAt;
+    }
+}
@@ -0,0 +1,54 @@
+package com.skillforge.dto;
+
+import com.skillforge.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * One page of a keyset (seek) paginated listing.
+ * nextCursor is an opaque token to pass back as ?cursor=... and is null on the last page.
+ */
+public record CursorPage<T>(
+        List<T> items,      // Rows of this page, ordered by id
+        String nextCursor,  // Token for the following page (null when done)
+        boolean hasMore     // True when another page exists
+) {
+
+    private static final String PREFIX = "id:";
+
+    /**
+     * Builds a page from a query that fetched limit + 1 rows:
+     * the extra row only tells us whether another page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, ToLongFunction<T> idOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null, false);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, encode(idOf.applyAsLong(items.get(limit - 1))), true);
+    }
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Returns the id to seek after; a missing cursor starts from the beginning. */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException(cursor);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
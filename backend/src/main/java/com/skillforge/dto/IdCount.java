@@ -0,0 +1,9 @@
+package com.skillforge.dto;
+
+/**
+ * Row of a GROUP BY id, COUNT(*) aggregate.
+ */
+public record IdCount(
+        Long id,
+        long count
+) {}
@@ -0,0 +1,29 @@
+package com.skillforge.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Everything the instructor dashboard shows, in one response
+ * (GET /instructor/{id}/summary). Counts cover the instructor's courses
+ * and everything below them.
+ */
+public record InstructorSummary(
+        Long instructorId,
+        Totals totals,
+        List<CourseStats> courses,
+        List<RecentAttempt> recentAttempts,
+        LocalDateTime generatedAt
+) {
+
+    public record Totals(
+            long courses,
+            long subjects,
+            long topics,
+            long materials,
+            long quizzes,
+            long attempts,
+            long students,
+            Double averageScore
+    ) {}
+}
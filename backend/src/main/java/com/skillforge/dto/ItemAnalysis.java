@@ -0,0 +1,13 @@
+package com.skillforge.dto;
+
+import java.util.List;
+
+/**
+ * Live item statistics of a quiz, questions in quiz order (a blueprint's candidates by id).
+ * attempts: all recorded attempts; a blueprint gives each student only some of its items.
+ */
+public record ItemAnalysis(
+        Long quizId,
+        long attempts,
+        List<ItemStats> items
+) {}
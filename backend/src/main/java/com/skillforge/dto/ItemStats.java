@@ -0,0 +1,20 @@
+package com.skillforge.dto;
+
+import java.util.Map;
+
+/**
+ * Classical item statistics of one question.
+ * difficulty: share of attempts that got it right (p-value, higher = easier).
+ * discrimination: point-biserial correlation between getting it right and the score on
+ * the other questions; null until both vary.
+ * options: picks per option letter, "none" for unanswered.
+ */
+public record ItemStats(
+        Long questionId,
+        int position,
+        long answered,
+        long correct,
+        Double difficulty,
+        Double discrimination,
+        Map<String, Long> options
+) {}
@@ -0,0 +1,19 @@
+package com.skillforge.dto;
+
+/**
+ * Per-question sums over stored answers, the starting point for incremental item
+ * statistics. rest = attempt score without this question; chosen* count option picks.
+ */
+public record ItemTotals(
+        Long questionId,
+        Long answered,
+        Long correct,
+        Long restSum,
+        Long restSquares,
+        Long correctRestSum,
+        Long chosenA,
+        Long chosenB,
+        Long chosenC,
+        Long chosenD,
+        Long unanswered
+) {}
@@ -0,0 +1,13 @@
+package com.skillforge.dto;
+
+import java.util.List;
+
+/**
+ * Top of a quiz or topic leaderboard. scope is "quiz" or "topic".
+ */
+public record Leaderboard(
+        String scope,
+        Long id,
+        int participants,
+        List<LeaderboardEntry> top
+) {}
@@ -0,0 +1,14 @@
+package com.skillforge.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One place on a leaderboard. reachedAt is when the user got this score;
+ * on equal scores the earlier one ranks higher.
+ */
+public record LeaderboardEntry(
+        int rank,
+        Long userId,
+        long score,
+        LocalDateTime reachedAt
+) {}
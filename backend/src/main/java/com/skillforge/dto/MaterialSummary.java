@@ -0,0 +1,19 @@
+package com.skillforge.dto;
+
+import com.skillforge.model.Material;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row for material listings.
+ */
+public record MaterialSummary(
+        Long id,
+        Long topicId,
+        String title,
+        Material.MaterialType type,
+        String filePath,
+        String link,
+        String fileType,
+        LocalDateTime uploadedAt
+) {}
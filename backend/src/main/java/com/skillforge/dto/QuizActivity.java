@@ -0,0 +1,12 @@
+package com.skillforge.dto;
+
+/**
+ * Row of a GROUP BY course aggregate over quizzes and their attempts.
+ */
+public record QuizActivity(
+        Long courseId,
+        long quizzes,
+        long attempts,
+        long students,
+        Double averageScore
+) {}
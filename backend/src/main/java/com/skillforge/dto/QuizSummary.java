@@ -0,0 +1,22 @@
+package com.skillforge.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row for quiz listings: the questions are only counted, not loaded.
+ * totalQuestions is null when the caller did not ask for it (?fields=...).
+ */
+public record QuizSummary(
+        Long id,
+        String displayId,
+        String title,
+        Long topicId,
+        LocalDateTime createdAt,
+        Integer totalQuestions
+) {
+
+    // Rows selected without the question count subquery
+    public QuizSummary(Long id, String displayId, String title, Long topicId, LocalDateTime createdAt) {
+        this(id, displayId, title, topicId, createdAt, null);
+    }
+}
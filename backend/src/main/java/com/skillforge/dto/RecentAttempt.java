@@ -0,0 +1,18 @@
+package com.skillforge.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Recent activity row on the instructor summary: one quiz attempt with the
+ * student's name and the quiz title resolved in the same statement.
+ */
+public record RecentAttempt(
+        Long attemptId,
+        Long userId,
+        String userName,
+        Long quizId,
+        String quizTitle,
+        Integer score,
+        Integer totalQuestions,
+        LocalDateTime timestamp
+) {}
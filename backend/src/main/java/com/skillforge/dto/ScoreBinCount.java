@@ -0,0 +1,13 @@
+package com.skillforge.dto;
+
+/**
+ * Row of the GROUP BY quiz, whole-percent score aggregate that seeds the score sketches.
+ * bin = floor(100 * score / totalQuestions); ratioSum = sum of score / totalQuestions.
+ */
+public record ScoreBinCount(
+        Long quizId,
+        Long topicId,
+        Number bin,
+        Long count,
+        Number ratioSum
+) {}
@@ -0,0 +1,19 @@
+package com.skillforge.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distribution of attempt scores (in percent of the questions) for a quiz, topic or
+ * course. Percentiles are interpolated within 1% bins; the histogram has 10% bins.
+ */
+public record ScoreDistribution(
+        String scope,
+        Long id,
+        long attempts,
+        Double mean,
+        Map<String, Double> percentiles,
+        List<Bin> histogram
+) {
+    public record Bin(int from, int to, long count) {}
+}
@@ -0,0 +1,14 @@
+package com.skillforge.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * What the leaderboards need from one quiz attempt (topic resolved through the quiz).
+ */
+public record ScoredAttempt(
+        Long quizId,
+        Long topicId,
+        Long userId,
+        Integer score,
+        LocalDateTime timestamp
+) {}
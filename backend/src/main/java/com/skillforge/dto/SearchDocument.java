@@ -0,0 +1,18 @@
+package com.skillforge.dto;
+
+/**
+ * Indexable text of one catalog row (see SearchIndex). Title terms are boosted;
+ * body is description, topic content, etc. and may be null.
+ */
+public record SearchDocument(
+        Long id,
+        Long parentId,
+        String title,
+        String body
+) {
+
+    // Courses have no parent
+    public SearchDocument(Long id, String title, String body) {
+        this(id, null, title, body);
+    }
+}
@@ -0,0 +1,15 @@
+package com.skillforge.dto;
+
+import com.skillforge.event.CatalogChangedEvent;
+
+/**
+ * One /search result, best first. parentId is the course of a subject,
+ * the subject of a topic or the topic of a material.
+ */
+public record SearchHit(
+        CatalogChangedEvent.Type type,
+        Long id,
+        Long parentId,
+        String title,
+        double score
+) {}
@@ -0,0 +1,6 @@
+package com.skillforge.dto;
+
+/**
+ * Subject id and name embedded in a CourseSummary.
+ */
+public record SubjectRef(Long id, String name, Long courseId) {}
@@ -0,0 +1,17 @@
+package com.skillforge.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row for subject listings: course and instructor flattened to id + label.
+ */
+public record SubjectSummary(
+        Long id,
+        String name,
+        String description,
+        LocalDateTime createdAt,
+        Long courseId,
+        String courseTitle,
+        Long instructorId,
+        String instructorName
+) {}
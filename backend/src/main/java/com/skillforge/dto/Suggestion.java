@@ -0,0 +1,14 @@
+package com.skillforge.dto;
+
+import com.skillforge.event.CatalogChangedEvent;
+
+/**
+ * One autocomplete entry (course title, subject name or topic name).
+ * parentId is the course of a subject or the subject of a topic.
+ */
+public record Suggestion(
+        CatalogChangedEvent.Type type,
+        Long id,
+        Long parentId,
+        String text
+) {}
@@ -0,0 +1,13 @@
+package com.skillforge.dto;
+
+/**
+ * Read-only row for topic listings. GET /topics/{id} returns the full topic,
+ * GET /topics/{id}/content its lesson text.
+ */
+public record TopicSummary(
+        Long id,
+        String name,
+        String type,
+        Long subjectId,
+        String subjectName
+) {}
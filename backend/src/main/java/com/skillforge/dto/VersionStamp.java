@@ -0,0 +1,33 @@
+package com.skillforge.dto;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Cheap aggregate over the rows behind a response: any insert, delete or
+ * versioned update changes at least one of the four numbers.
+ * Filled by "SELECT new VersionStamp(COUNT, MAX(id), SUM(id), SUM(version))" queries.
+ */
+public record VersionStamp(
+        Long count,
+        Long maxId,
+        Long idSum,
+        Long versionSum
+) {
+
+    public VersionStamp {
+        // Aggregates over an empty set come back as null
+        count = count == null ? 0L : count;
+        maxId = maxId == null ? 0L : maxId;
+        idSum = idSum == null ? 0L : idSum;
+        versionSum = versionSum == null ? 0L : versionSum;
+    }
+
+    /** Strong ETag (quoted MD5) over the given stamps and request qualifiers. */
+    public static String etag(Object... parts) {
+        byte[] raw = Arrays.deepToString(parts).getBytes(StandardCharsets.UTF_8);
+        return "\"" + DigestUtils.md5DigestAsHex(raw) + "\"";
+    }
+}
@@ -0,0 +1,20 @@
+package com.skillforge.event;
+
+import com.skillforge.service.GradedAttempt;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Quiz attempts stored in the current transaction (one per direct submission, a whole
+ * batch from write-behind ingestion), with their attempt ids. Listeners run after commit.
+ *
+ * topicIds maps each attempt's quiz to its topic, resolved inside the storing
+ * transaction, so after-commit listeners need no query of their own.
+ */
+public record AttemptsRecordedEvent(List<GradedAttempt> attempts, Map<Long, Long> topicIds) {
+
+    public Long topicOf(long quizId) {
+        return topicIds.get(quizId);
+    }
+}
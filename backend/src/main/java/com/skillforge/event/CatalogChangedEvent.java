@@ -0,0 +1,35 @@
+package com.skillforge.event;
+
+/**
+ * Published by the catalog services whenever a course, subject, topic or material
+ * is created, updated or deleted. Listeners (caches, indexes) react after commit.
+ *
+ * parentId is the direct parent (course of a subject, subject of a topic,
+ * topic of a material) and courseId the course the entity belongs to, when known.
+ */
+public record CatalogChangedEvent(
+        Type type,
+        Long id,
+        Long parentId,
+        Long courseId,
+        boolean removed
+) {
+
+    public enum Type { COURSE, SUBJECT, TOPIC, MATERIAL }
+
+    public static CatalogChangedEvent course(Long courseId, boolean removed) {
+        return new CatalogChangedEvent(Type.COURSE, courseId, null, courseId, removed);
+    }
+
+    public static CatalogChangedEvent subject(Long subjectId, Long courseId, boolean removed) {
+        return new CatalogChangedEvent(Type.SUBJECT, subjectId, courseId, courseId, removed);
+    }
+
+    public static CatalogChangedEvent topic(Long topicId, Long subjectId, Long courseId, boolean removed) {
+        return new CatalogChangedEvent(Type.TOPIC, topicId, subjectId, courseId, removed);
+    }
+
+    public static CatalogChangedEvent material(Long materialId, Long topicId, boolean removed) {
+        return new CatalogChangedEvent(Type.MATERIAL, materialId, topicId, null, removed);
+    }
+}
@@ -0,0 +1,11 @@
+package com.skillforge.event;
+
+import java.util.List;
+
+/**
+ * Published when material rows that pointed at uploaded files are deleted (or
+ * re-pointed). MaterialFileCleaner removes the files once the transaction commits.
+ */
+public record MaterialFilesReleasedEvent(
+        List<String> filePaths
+) {}
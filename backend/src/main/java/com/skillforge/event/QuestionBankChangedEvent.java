@@ -0,0 +1,10 @@
+package com.skillforge.event;
+
+/**
+ * Published when a question of a topic's bank is created, edited or deleted.
+ * The in-memory bank index (QuestionBank) reloads that topic after commit; blueprints
+ * keep drawing from the candidates frozen when they were created.
+ */
+public record QuestionBankChangedEvent(
+        Long topicId
+) {}
@@ -0,0 +1,10 @@
+package com.skillforge.event;
+
+/**
+ * Published when a quiz or its questions are created, edited or deleted.
+ * Listeners drop what they derived from the questions (answer keys) after commit.
+ */
+public record QuizChangedEvent(
+        Long quizId,
+        boolean removed
+) {}
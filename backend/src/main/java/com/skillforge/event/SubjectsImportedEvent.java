@@ -0,0 +1,13 @@
+package com.skillforge.event;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published once per bulk subject import instead of one CatalogChangedEvent per row,
+ * so listeners can reload the new subjects with a single IN query after commit.
+ */
+public record SubjectsImportedEvent(
+        List<Long> subjectIds,
+        Set<Long> courseIds
+) {}
@@ -0,0 +1,11 @@
+package com.skillforge.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class AttemptBufferFullException extends RuntimeException {
+    public AttemptBufferFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.skillforge.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class BankQuestionNotFoundException extends RuntimeException {
+    public BankQuestionNotFoundException(Long id) {
+        super("Bank question not found with id: " + id);
+    }
+}
@@ -0,0 +1,11 @@
+package com.skillforge.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidBlueprintException extends RuntimeException {
+    public InvalidBlueprintException(String message) {
+        super(message);
+    }
+}
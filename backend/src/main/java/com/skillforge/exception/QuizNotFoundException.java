@@ -0,0 +1,11 @@
+package com.skillforge.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class QuizNotFoundException extends RuntimeException {
+    public QuizNotFoundException(Long id) {
+        super("Quiz not found with id: " + id);
+    }
+}
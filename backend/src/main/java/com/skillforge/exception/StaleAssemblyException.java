@@ -0,0 +1,15 @@
+package com.skillforge.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The questions a student answered are no longer the ones their randomized quiz
+ * assembles to (the topic's bank changed in between): the quiz has to be reloaded.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class StaleAssemblyException extends RuntimeException {
+    public StaleAssemblyException(Long quizId) {
+        super("Quiz " + quizId + " has changed since it was loaded. Please reload it.");
+    }
+}
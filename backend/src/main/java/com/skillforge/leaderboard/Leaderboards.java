@@ -0,0 +1,182 @@
+package com.skillforge.leaderboard;
+
+import com.skillforge.dto.Leaderboard;
+import com.skillforge.dto.LeaderboardEntry;
+import com.skillforge.dto.ScoredAttempt;
+import com.skillforge.event.AttemptsRecordedEvent;
+import com.skillforge.event.CatalogChangedEvent;
+import com.skillforge.event.QuizChangedEvent;
+import com.skillforge.repository.QuizAttemptRepository;
+import com.skillforge.service.GradedAttempt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * In-memory leaderboards per quiz (best score of each user) and per topic (sum of each
+ * user's best scores over the topic's quizzes).
+ *
+ * Loaded from quiz_attempts once the application is ready (off the startup path; a failed
+ * load is retried by the scheduled rebuild), then kept current from AttemptsRecordedEvent
+ * after each commit, so reading a board never touches the database. Applying an attempt
+ * is idempotent (a board only keeps a better score), which makes replays and the overlap
+ * with a rebuild harmless. Deleting quizzes marks the boards for a full rebuild.
+ */
+@Component
+public class Leaderboards {
+
+    private static final Logger log = LoggerFactory.getLogger(Leaderboards.class);
+
+    /** Replaced wholesale by a rebuild. */
+    private static final class Boards {
+        final Map<Long, RankedBoard> quizzes = new ConcurrentHashMap<>();
+        final Map<Long, RankedBoard> topics = new ConcurrentHashMap<>();
+
+        void apply(ScoredAttempt attempt) {
+            if (attempt.topicId() == null || attempt.score() == null) {
+                return;
+            }
+            long gained = quizzes.computeIfAbsent(attempt.quizId(), id -> new RankedBoard())
+                    .offer(attempt.userId(), attempt.score(), attempt.timestamp());
+            if (gained != RankedBoard.UNCHANGED) {
+                topics.computeIfAbsent(attempt.topicId(), id -> new RankedBoard())
+                        .add(attempt.userId(), gained, attempt.timestamp());
+            }
+        }
+    }
+
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final TransactionTemplate readTx;
+
+    private final Object rebuildLock = new Object();
+    private final AtomicBoolean dirty = new AtomicBoolean(true);    // not loaded yet
+    private volatile Boards boards = new Boards();
+    private List<ScoredAttempt> recordedDuringRebuild;     // guarded by rebuildLock
+
+    public Leaderboards(QuizAttemptRepository quizAttemptRepository,
+                        PlatformTransactionManager transactionManager) {
+        this.quizAttemptRepository = quizAttemptRepository;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+    }
+
+    public Leaderboard quizTop(Long quizId, int limit) {
+        return top("quiz", quizId, boards.quizzes.get(quizId), limit);
+    }
+
+    public Leaderboard topicTop(Long topicId, int limit) {
+        return top("topic", topicId, boards.topics.get(topicId), limit);
+    }
+
+    public Optional<LeaderboardEntry> quizStanding(Long quizId, Long userId) {
+        RankedBoard board = boards.quizzes.get(quizId);
+        return board == null ? Optional.empty() : board.standing(userId);
+    }
+
+    public Optional<LeaderboardEntry> topicStanding(Long topicId, Long userId) {
+        RankedBoard board = boards.topics.get(topicId);
+        return board == null ? Optional.empty() : board.standing(userId);
+    }
+
+    private static Leaderboard top(String scope, Long id, RankedBoard board, int limit) {
+        if (board == null) {
+            return new Leaderboard(scope, id, 0, List.of());
+        }
+        return new Leaderboard(scope, id, board.size(), board.top(limit));
+    }
+
+    // ===============================
+    // UPDATES
+    // ===============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttemptsRecorded(AttemptsRecordedEvent event) {
+        List<ScoredAttempt> attempts = new ArrayList<>(event.attempts().size());
+        for (GradedAttempt attempt : event.attempts()) {
+            attempts.add(new ScoredAttempt(attempt.quizId(), event.topicOf(attempt.quizId()), attempt.userId(),
+                    attempt.score(), attempt.timestamp()));
+        }
+        synchronized (rebuildLock) {
+            if (recordedDuringRebuild != null) {
+                recordedDuringRebuild.addAll(attempts);
+            }
+        }
+        Boards current = boards;
+        attempts.forEach(current::apply);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        if (event.removed()) {
+            dirty.set(true);
+        }
+    }
+
+    // Course deletes remove quizzes and attempts with bulk statements
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.removed() && event.type() != CatalogChangedEvent.Type.MATERIAL) {
+            dirty.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboards.rebuild-delay-ms:5000}")
+    public void rebuildIfDirty() {
+        if (dirty.getAndSet(false)) {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                dirty.set(true);
+                log.warn("Leaderboard rebuild failed", e);
+            }
+        }
+    }
+
+    // Boards read as empty until this has run; a failure leaves them dirty for the next schedule
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuildIfDirty();
+    }
+
+    /**
+     * Streams every attempt into fresh boards, then swaps them in. Attempts committed
+     * while streaming are applied to the new boards as well before the swap.
+     */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        synchronized (rebuildLock) {
+            recordedDuringRebuild = new ArrayList<>();
+        }
+        Boards fresh = new Boards();
+        boolean loaded = false;
+        try {
+            readTx.executeWithoutResult(status -> {
+                try (Stream<ScoredAttempt> rows = quizAttemptRepository.streamScored()) {
+                    rows.forEach(fresh::apply);
+                }
+            });
+            loaded = true;
+        } finally {
+            synchronized (rebuildLock) {
+                if (loaded) {
+                    recordedDuringRebuild.forEach(fresh::apply);
+                    boards = fresh;
+                }
+                recordedDuringRebuild = null;
+            }
+        }
+        log.info("Leaderboards loaded: {} quizzes, {} topics in {} ms", fresh.quizzes.size(), fresh.topics.size(),
+                System.currentTimeMillis() - started);
+    }
+}
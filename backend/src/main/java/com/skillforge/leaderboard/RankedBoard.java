@@ -0,0 +1,240 @@
+package com.skillforge.leaderboard;
+
+import com.skillforge.dto.LeaderboardEntry;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One leaderboard: a score per user, ordered by score (high first), then by when it was
+ * reached (early first), then user id.
+ *
+ * Backed by a treap whose nodes carry subtree sizes, so inserting, removing and the
+ * rank of a user are O(log n) and the top k is an O(log n + k) walk. A user has one node;
+ * a better score replaces it. Reads share a read lock, updates take the write lock.
+ */
+final class RankedBoard {
+
+    /** Returned by offer() when the board did not change. */
+    static final long UNCHANGED = -1;
+
+    // quiz_attempts.timestamp is nullable (older rows): those rank after any dated tie
+    private static final Comparator<LocalDateTime> BY_TIME = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private static final class Node {
+        final long userId;
+        final long score;
+        final LocalDateTime reachedAt;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(long userId, long score, LocalDateTime reachedAt) {
+            this.userId = userId;
+            this.score = score;
+            this.reachedAt = reachedAt;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Node> byUser = new HashMap<>();
+    private Node root;
+
+    /**
+     * Keeps the user's best score: returns the points gained (the whole score for a new
+     * user) or UNCHANGED when the user already has this score or better.
+     */
+    long offer(long userId, long score, LocalDateTime reachedAt) {
+        lock.writeLock().lock();
+        try {
+            Node current = byUser.get(userId);
+            if (current != null && current.score >= score) {
+                return UNCHANGED;
+            }
+            replace(current, new Node(userId, score, reachedAt));
+            return current == null ? score : score - current.score;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds points to the user's total (topic boards: sum of best quiz scores). */
+    void add(long userId, long points, LocalDateTime reachedAt) {
+        lock.writeLock().lock();
+        try {
+            Node current = byUser.get(userId);
+            if (current != null && points == 0) {
+                return;
+            }
+            long total = (current == null ? 0 : current.score) + points;
+            replace(current, new Node(userId, total, reachedAt));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    Optional<LeaderboardEntry> standing(long userId) {
+        lock.readLock().lock();
+        try {
+            Node node = byUser.get(userId);
+            return node == null ? Optional.empty() : Optional.of(entry(rank(node), node));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<LeaderboardEntry> top(int limit) {
+        lock.readLock().lock();
+        try {
+            List<LeaderboardEntry> entries = new ArrayList<>(Math.min(limit, byUser.size()));
+            Deque<Node> stack = new ArrayDeque<>();
+            Node node = root;
+            while ((node != null || !stack.isEmpty()) && entries.size() < limit) {
+                while (node != null) {
+                    stack.push(node);
+                    node = node.left;
+                }
+                node = stack.pop();
+                entries.add(entry(entries.size() + 1, node));
+                node = node.right;
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return byUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static LeaderboardEntry entry(int rank, Node node) {
+        return new LeaderboardEntry(rank, node.userId, node.score, node.reachedAt);
+    }
+
+    // ===============================
+    // TREAP (caller holds the write lock for changes)
+    // ===============================
+
+    private void replace(Node old, Node node) {
+        if (old != null) {
+            root = remove(root, old);
+        }
+        root = insert(root, node);
+        byUser.put(node.userId, node);
+    }
+
+    private static int compare(Node a, Node b) {
+        int byScore = Long.compare(b.score, a.score);
+        if (byScore != 0) {
+            return byScore;
+        }
+        int byTime = BY_TIME.compare(a.reachedAt, b.reachedAt);
+        return byTime != 0 ? byTime : Long.compare(a.userId, b.userId);
+    }
+
+    private int rank(Node target) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int c = compare(target, node);
+            if (c < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                if (c == 0) {
+                    return rank;
+                }
+                node = node.right;
+            }
+        }
+        throw new IllegalStateException("User " + target.userId + " missing from the tree");
+    }
+
+    private static Node insert(Node tree, Node node) {
+        if (tree == null) {
+            return node;
+        }
+        if (node.priority > tree.priority) {
+            Node[] parts = split(tree, node);
+            node.left = parts[0];
+            node.right = parts[1];
+            resize(node);
+            return node;
+        }
+        if (compare(node, tree) < 0) {
+            tree.left = insert(tree.left, node);
+        } else {
+            tree.right = insert(tree.right, node);
+        }
+        resize(tree);
+        return tree;
+    }
+
+    private static Node remove(Node tree, Node node) {
+        int c = compare(node, tree);
+        if (c == 0) {
+            return merge(tree.left, tree.right);
+        }
+        if (c < 0) {
+            tree.left = remove(tree.left, node);
+        } else {
+            tree.right = remove(tree.right, node);
+        }
+        resize(tree);
+        return tree;
+    }
+
+    // [nodes ordered before key, nodes ordered after key]
+    private static Node[] split(Node tree, Node key) {
+        if (tree == null) {
+            return new Node[2];
+        }
+        if (compare(tree, key) < 0) {
+            Node[] parts = split(tree.right, key);
+            tree.right = parts[0];
+            resize(tree);
+            parts[0] = tree;
+            return parts;
+        }
+        Node[] parts = split(tree.left, key);
+        tree.left = parts[1];
+        resize(tree);
+        parts[1] = tree;
+        return parts;
+    }
+
+    // Every node of a is ordered before every node of b
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            resize(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        resize(b);
+        return b;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void resize(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+}
@@ -0,0 +1,46 @@
+package com.skillforge.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One graded answer of a quiz attempt. chosen is the option index (0 = A .. 3 = D),
+ * null when the question was left unanswered.
+ */
+@Entity
+@Table(name = "quiz_attempt_answers", indexes = @Index(name = "idx_attempt_answers_question", columnList = "question_id"))
+@IdClass(AttemptAnswer.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttemptAnswer {
+
+    @Id
+    @Column(name = "attempt_id")
+    private Long attemptId;
+
+    @Id
+    @Column(name = "position")
+    private Integer position;
+
+    @Column(name = "question_id", nullable = false)
+    private Long questionId;
+
+    @Column(name = "chosen")
+    private Byte chosen;
+
+    @Column(name = "correct", nullable = false)
+    private boolean correct;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long attemptId;
+        private Integer position;
+    }
+}
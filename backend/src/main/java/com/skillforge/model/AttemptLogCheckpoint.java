@@ -0,0 +1,26 @@
+package com.skillforge.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Highest attempt log sequence stored in quiz_attempts, per local log. Updated in the
+ * same transaction as the rows it covers, so replaying the log after a crash never
+ * inserts an attempt twice.
+ */
+@Entity
+@Table(name = "attempt_log_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttemptLogCheckpoint {
+
+    @Id
+    @Column(name = "log_id", length = 36)
+    private String logId;
+
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq;
+}
@@ -0,0 +1,57 @@
+package com.skillforge.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reusable question of a topic's question bank. Blueprint quizzes draw their questions
+ * from here per student (see QuestionBank); nothing is copied into quiz_questions.
+ * tags is a comma separated, lower-case list.
+ */
+@Entity
+@Table(name = "question_bank", indexes = @Index(name = "idx_question_bank_topic", columnList = "topic_id"))
+@Data
+@NoArgsConstructor
+public class BankQuestion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "bank_question_ids")
+    @TableGenerator(name = "bank_question_ids", table = IdAllocation.TABLE,
+            pkColumnName = IdAllocation.KEY_COLUMN, valueColumnName = IdAllocation.VALUE_COLUMN,
+            pkColumnValue = IdAllocation.BANK_QUESTIONS, allocationSize = IdAllocation.BLOCK_SIZE)
+    private Long id;
+
+    @Column(name = "topic_id", nullable = false)
+    private Long topicId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String questionText;
+
+    @Column(nullable = false)
+    private String optionA;
+    @Column(nullable = false)
+    private String optionB;
+    @Column(nullable = false)
+    private String optionC;
+    @Column(nullable = false)
+    private String optionD;
+
+    @Column(length = 1, nullable = false)
+    private String correctOption;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10, nullable = false)
+    private Difficulty difficulty = Difficulty.MEDIUM;
+
+    private String tags;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version = 0L;
+}
@@ -5,12 +5,16 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course")
 @Table(name = "courses")
 @Data
 @NoArgsConstructor
@@ -18,7 +22,10 @@ import java.util.List;
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "course_ids")
+    @TableGenerator(name = "course_ids", table = IdAllocation.TABLE,
+            pkColumnName = IdAllocation.KEY_COLUMN, valueColumnName = IdAllocation.VALUE_COLUMN,
+            pkColumnValue = IdAllocation.COURSES, allocationSize = IdAllocation.BLOCK_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -60,6 +67,13 @@ public class Course {
     @JsonIgnoreProperties("course") // 🔥 simpler & safer
     private List<Subject> subjects;
 
+    // ===============================
+    // VERSION (optimistic locking, ETags)
+    // ===============================
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version = 0L;
+
     // ===============================
     // CREATED AT
     // ===============================
@@ -0,0 +1,7 @@
+package com.skillforge.model;
+
+public enum Difficulty {
+    EASY,
+    MEDIUM,
+    HARD
+}
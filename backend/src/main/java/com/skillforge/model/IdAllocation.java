@@ -0,0 +1,35 @@
+package com.skillforge.model;
+
+import java.util.List;
+
+/**
+ * Shared settings of the table-backed id generators.
+ *
+ * Every entity draws ids in blocks of BLOCK_SIZE from one row of the id_allocation
+ * table (pooled optimizer). Ids are known before the INSERT, which lets Hibernate
+ * batch inserts; IDENTITY columns force one round trip per row.
+ */
+public final class IdAllocation {
+
+    public static final String TABLE = "id_allocation";
+    public static final String KEY_COLUMN = "entity_table";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int BLOCK_SIZE = 50;
+
+    // Row keys = table names, so the seeder can align each row with MAX(id) of its table
+    public static final String COURSES = "courses";
+    public static final String SUBJECTS = "subjects";
+    public static final String TOPICS = "topics";
+    public static final String MATERIALS = "materials";
+    public static final String QUIZZES = "quizzes";
+    public static final String QUESTIONS = "quiz_questions";
+    public static final String BANK_QUESTIONS = "question_bank";
+    public static final String QUIZ_ATTEMPTS = "quiz_attempts";
+    public static final String USERS = "users";
+
+    public static final List<String> TABLES =
+            List.of(COURSES, SUBJECTS, TOPICS, MATERIALS, QUIZZES, QUESTIONS, BANK_QUESTIONS, QUIZ_ATTEMPTS, USERS);
+
+    private IdAllocation() {
+    }
+}
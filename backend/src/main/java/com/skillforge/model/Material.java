@@ -1,13 +1,20 @@
 package com.skillforge.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "material")
 @Table(name = "materials")
 public class Material {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "material_ids")
+    @TableGenerator(name = "material_ids", table = IdAllocation.TABLE,
+            pkColumnName = IdAllocation.KEY_COLUMN, valueColumnName = IdAllocation.VALUE_COLUMN,
+            pkColumnValue = IdAllocation.MATERIALS, allocationSize = IdAllocation.BLOCK_SIZE)
     private Long id;
 
     @Column(name = "topic_id", nullable = false)
@@ -32,6 +39,10 @@ public class Material {
     @Column(name = "uploaded_at", updatable = false)
     private LocalDateTime uploadedAt;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version = 0L;
+
     public enum MaterialType {
         VIDEO, PDF, LINK
     }
@@ -45,6 +56,9 @@ public class Material {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public Long getTopicId() { return topicId; }
     public void setTopicId(Long topicId) { this.topicId = topicId; }
 
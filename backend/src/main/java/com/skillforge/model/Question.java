@@ -1,15 +1,23 @@
 package com.skillforge.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
 import java.util.Arrays;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question")
 @Table(name = "quiz_questions")
 public class Question {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "question_ids")
+    @TableGenerator(name = "question_ids", table = IdAllocation.TABLE,
+            pkColumnName = IdAllocation.KEY_COLUMN, valueColumnName = IdAllocation.VALUE_COLUMN,
+            pkColumnValue = IdAllocation.QUESTIONS, allocationSize = IdAllocation.BLOCK_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -25,7 +33,9 @@ public class Question {
     private String optionC;
     private String optionD;
 
+    // Never sent to clients: submissions are graded on the server
     @Column(length = 1)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String correctOption;
 
     // --- Helper for Frontend ---
@@ -1,6 +1,8 @@
 package com.skillforge.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -10,6 +12,8 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quiz")
 @Table(name = "quizzes")
 @Data
 @NoArgsConstructor
@@ -17,7 +21,10 @@ import java.util.UUID;
 public class Quiz {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "quiz_ids")
+    @TableGenerator(name = "quiz_ids", table = IdAllocation.TABLE,
+            pkColumnName = IdAllocation.KEY_COLUMN, valueColumnName = IdAllocation.VALUE_COLUMN,
+            pkColumnValue = IdAllocation.QUIZZES, allocationSize = IdAllocation.BLOCK_SIZE)
     private Long id;
 
     @Column(name = "display_id", unique = true, nullable = false)
@@ -32,7 +39,14 @@ public class Quiz {
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version = 0L;
+
+    // Same order as the answer key (QuizGrader): answers are submitted by position
     @OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quiz.questions")
     private List<Question> questions = new ArrayList<>();
 
     @PrePersist
@@ -14,7 +14,10 @@ import java.time.LocalDateTime;
 public class QuizAttempt {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "quiz_attempt_ids")
+    @TableGenerator(name = "quiz_attempt_ids", table = IdAllocation.TABLE,
+            pkColumnName = IdAllocation.KEY_COLUMN, valueColumnName = IdAllocation.VALUE_COLUMN,
+            pkColumnValue = IdAllocation.QUIZ_ATTEMPTS, allocationSize = IdAllocation.BLOCK_SIZE)
     private Long id;
 
     @Column(name = "user_id", nullable = false)
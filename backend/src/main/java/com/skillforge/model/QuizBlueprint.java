@@ -0,0 +1,49 @@
+package com.skillforge.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Makes a quiz randomized: instead of fixed questions, each student gets easyCount +
+ * mediumCount + hardCount questions of the quiz's topic bank, picked and ordered from
+ * seed and the student id. Keyed by the quiz id; the quiz row keeps title, display id
+ * and topic, and attempts reference it as usual.
+ *
+ * The candidates (bank questions of each difficulty with one of the tags, if any) are
+ * frozen as comma separated ids when the blueprint is created. Later additions and
+ * re-tagging in the bank therefore do not change anyone's draw.
+ */
+@Entity
+@Table(name = "quiz_blueprints")
+@Data
+@NoArgsConstructor
+public class QuizBlueprint {
+
+    @Id
+    @Column(name = "quiz_id")
+    private Long quizId;
+
+    private int easyCount;
+    private int mediumCount;
+    private int hardCount;
+
+    private String tags;
+
+    @Column(columnDefinition = "TEXT")
+    private String easyQuestionIds;
+    @Column(columnDefinition = "TEXT")
+    private String mediumQuestionIds;
+    @Column(columnDefinition = "TEXT")
+    private String hardQuestionIds;
+
+    private boolean shuffleOptions = true;
+
+    // Random per blueprint, so two blueprints give the same student different exams
+    @Column(nullable = false)
+    private Long seed;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version = 0L;
+}
@@ -0,0 +1,37 @@
+package com.skillforge.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * Lesson text of a topic, kept out of the topics table so that loading topics
+ * (lists, course tree, course graph) never reads it. Served by GET /topics/{id}/content.
+ * One row per topic, keyed by the topic id.
+ */
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "topic-content")
+@Table(name = "topic_contents")
+@Data
+@NoArgsConstructor
+public class TopicContent {
+
+    @Id
+    @Column(name = "topic_id")
+    private Long topicId;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version = 0L;
+
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    public TopicContent(Long topicId, String content) {
+        this.topicId = topicId;
+        this.content = content;
+    }
+}
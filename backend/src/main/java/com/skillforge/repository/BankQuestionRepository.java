@@ -0,0 +1,22 @@
+package com.skillforge.repository;
+
+import com.skillforge.model.BankQuestion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface BankQuestionRepository extends JpaRepository<BankQuestion, Long> {
+
+    // Id order is the order of the in-memory index (QuestionBank): assembly depends on it
+    List<BankQuestion> findByTopicIdOrderByIdAsc(Long topicId);
+
+    List<BankQuestion> findAllByOrderByTopicIdAscIdAsc();
+
+    @Modifying
+    @Query("DELETE FROM BankQuestion b WHERE b.topicId IN (" + TopicRepository.IDS_BY_COURSE + ")")
+    int bulkDeleteByCourseId(@Param("courseId") Long courseId);
+}
@@ -1,20 +1,73 @@
 package com.skillforge.repository;
 
 import com.skillforge.model.Course;
+import com.skillforge.dto.CourseStats;
+import com.skillforge.dto.CourseSummary;
+import com.skillforge.dto.SearchDocument;
+import com.skillforge.dto.VersionStamp;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
 
+    // Listing projection: only the columns the course table shows, no entity hydration
+    String SUMMARY = "SELECT new com.skillforge.dto.CourseSummary(c.id, c.title, c.description, "
+            + "c.difficulty, c.duration, c.createdAt, i.id, i.name) FROM Course c LEFT JOIN c.instructor i";
+
     // Safely finds courses by the ID of the instructor object
     List<Course> findByInstructor_Id(Long instructorId);
 
     List<Course> findByDifficulty(String difficulty);
 
-    List<Course> findByTitleContainingIgnoreCase(String keyword);
-
     // ✅ FIX: Match this to your Entity's type (Integer vs String)
     List<Course> findByDuration(Integer duration);
-}
\ No newline at end of file
+
+    // Course tree root: instructor fetched in the same statement
+    @Query("SELECT c FROM Course c LEFT JOIN FETCH c.instructor WHERE c.id = :id")
+    Optional<Course> findWithInstructorById(@Param("id") Long id);
+
+    @Query(SUMMARY + " ORDER BY c.id")
+    List<CourseSummary> findAllSummaries();
+
+    // Bulk validation: which of these course ids exist
+    @Query("SELECT c.id FROM Course c WHERE c.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SUMMARY + " WHERE c.id IN :ids ORDER BY c.id")
+    List<CourseSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ETag stamps (see VersionStamp)
+    @Query("SELECT new com.skillforge.dto.VersionStamp(COUNT(c), MAX(c.id), SUM(c.id), SUM(c.version)) FROM Course c")
+    VersionStamp stamp();
+
+    // Search index source rows (see SearchIndex); streamed so startup holds one row at a time
+    String SEARCH_DOCUMENT = "SELECT new com.skillforge.dto.SearchDocument(c.id, c.title, c.description) FROM Course c";
+
+    @Query(SEARCH_DOCUMENT)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<SearchDocument> streamSearchDocuments();
+
+    @Query(SEARCH_DOCUMENT + " WHERE c.id = :id")
+    Optional<SearchDocument> findSearchDocumentById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Course c WHERE c.id = :id")
+    int bulkDeleteById(@Param("id") Long id);
+
+    // Instructor summary: subjects and topics per course in one grouped statement
+    @Query("SELECT new com.skillforge.dto.CourseStats(c.id, c.title, COUNT(DISTINCT s.id), COUNT(DISTINCT t.id)) "
+            + "FROM Course c LEFT JOIN c.subjects s LEFT JOIN s.topics t "
+            + "WHERE c.instructor.id = :instructorId GROUP BY c.id, c.title ORDER BY c.id")
+    List<CourseStats> findStatsByInstructorId(@Param("instructorId") Long instructorId);
+}
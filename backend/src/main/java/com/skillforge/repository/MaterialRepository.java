@@ -1,16 +1,79 @@
 package com.skillforge.repository;
 
 import com.skillforge.model.Material;
+import com.skillforge.dto.IdCount;
+import com.skillforge.dto.MaterialSummary;
+import com.skillforge.dto.SearchDocument;
+import com.skillforge.dto.VersionStamp;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MaterialRepository extends JpaRepository<Material, Long> {
 
+    // Listing projection: plain column values, no managed entities
+    String SUMMARY = "SELECT new com.skillforge.dto.MaterialSummary(m.id, m.topicId, m.title, m.type, "
+            + "m.filePath, m.link, m.fileType, m.uploadedAt) FROM Material m";
+
     // ✅ FIXED: Reference the enum as Material.MaterialType
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Material> findByTopicId(Long topicId);
 
     // ✅ FIXED: Added the "Material." prefix here
     List<Material> findByType(Material.MaterialType type);
-}
\ No newline at end of file
+
+    // Used by the course tree to load materials of many topics at once
+    List<Material> findByTopicIdInOrderByIdAsc(Collection<Long> topicIds);
+
+    @Query(SUMMARY + " ORDER BY m.id")
+    List<MaterialSummary> findAllSummaries();
+
+    @Query(SUMMARY + " WHERE m.id = :id")
+    Optional<MaterialSummary> findSummaryById(@Param("id") Long id);
+
+    // ETag stamps (see VersionStamp)
+    @Query("SELECT new com.skillforge.dto.VersionStamp(COUNT(m), MAX(m.id), SUM(m.id), SUM(m.version)) FROM Material m")
+    VersionStamp stamp();
+
+    @Query("SELECT new com.skillforge.dto.VersionStamp(COUNT(m), MAX(m.id), SUM(m.id), SUM(m.version)) "
+            + "FROM Material m WHERE m.topicId = :topicId")
+    VersionStamp stampByTopicId(@Param("topicId") Long topicId);
+
+    // Search index source rows (see SearchIndex); streamed so startup holds one row at a time
+    String SEARCH_DOCUMENT = "SELECT new com.skillforge.dto.SearchDocument(m.id, m.topicId, m.title, '') FROM Material m";
+
+    @Query(SEARCH_DOCUMENT)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<SearchDocument> streamSearchDocuments();
+
+    @Query(SEARCH_DOCUMENT + " WHERE m.id = :id")
+    Optional<SearchDocument> findSearchDocumentById(@Param("id") Long id);
+
+    // Files on disk outlive their rows; these feed MaterialFileCleaner
+    @Query("SELECT m.filePath FROM Material m WHERE m.filePath IS NOT NULL "
+            + "AND m.topicId IN (" + TopicRepository.IDS_BY_COURSE + ")")
+    List<String> findFilePathsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT DISTINCT m.filePath FROM Material m WHERE m.filePath IN :filePaths")
+    List<String> findFilePathsIn(@Param("filePaths") Collection<String> filePaths);
+
+    @Modifying
+    @Query("DELETE FROM Material m WHERE m.topicId IN (" + TopicRepository.IDS_BY_COURSE + ")")
+    int bulkDeleteByCourseId(@Param("courseId") Long courseId);
+
+    // Instructor summary: materials per course
+    @Query("SELECT new com.skillforge.dto.IdCount(s.course.id, COUNT(m)) "
+            + "FROM Material m JOIN Topic t ON t.id = m.topicId JOIN t.subject s "
+            + "WHERE s.course.instructor.id = :instructorId GROUP BY s.course.id")
+    List<IdCount> countByCourseForInstructor(@Param("instructorId") Long instructorId);
+}
@@ -1,9 +1,23 @@
 package com.skillforge.repository;
 
+import com.skillforge.dto.IdCount;
+import com.skillforge.dto.ItemTotals;
+import com.skillforge.dto.QuizActivity;
+import com.skillforge.dto.RecentAttempt;
+import com.skillforge.dto.ScoreBinCount;
+import com.skillforge.dto.ScoredAttempt;
 import com.skillforge.model.QuizAttempt;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long> {
@@ -11,4 +25,82 @@ public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long>
     // ✅ This name must match your Model field ('timestamp')
     // AND it must match what your QuizService is calling.
     List<QuizAttempt> findByUserIdOrderByTimestampDesc(Long userId);
-}
\ No newline at end of file
+
+    // Keyset pagination: seek past the last id of the previous page
+    List<QuizAttempt> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // Full export: constructor expression keeps rows out of the persistence context,
+    // fetch size Integer.MIN_VALUE makes Connector/J stream instead of buffering
+    @Query("SELECT new com.skillforge.model.QuizAttempt(a.id, a.userId, a.quizId, a.score, a.totalQuestions, a.timestamp) "
+            + "FROM QuizAttempt a ORDER BY a.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<QuizAttempt> streamAll();
+
+    // Leaderboard load at startup: every attempt in id order, streamed like streamAll
+    @Query("SELECT new com.skillforge.dto.ScoredAttempt(a.quizId, q.topicId, a.userId, a.score, a.timestamp) "
+            + "FROM QuizAttempt a JOIN Quiz q ON q.id = a.quizId ORDER BY a.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ScoredAttempt> streamScored();
+
+    // ===============================
+    // ITEM ANALYSIS (per-question sums, loaded once per quiz then kept up incrementally)
+    // ===============================
+
+    String CORRECT = "CASE WHEN aa.correct = true THEN 1 ELSE 0 END";
+    String REST = "(a.score - " + CORRECT + ")";
+
+    @Query("SELECT new com.skillforge.dto.ItemTotals(aa.questionId, COUNT(aa), SUM(" + CORRECT + "), "
+            + "SUM(" + REST + "), SUM(" + REST + " * " + REST + "), SUM(" + CORRECT + " * " + REST + "), "
+            + "SUM(CASE WHEN aa.chosen = 0 THEN 1 ELSE 0 END), SUM(CASE WHEN aa.chosen = 1 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN aa.chosen = 2 THEN 1 ELSE 0 END), SUM(CASE WHEN aa.chosen = 3 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN aa.chosen IS NULL THEN 1 ELSE 0 END)) "
+            + "FROM AttemptAnswer aa JOIN QuizAttempt a ON a.id = aa.attemptId "
+            + "WHERE a.quizId = :quizId AND aa.questionId IN :questionIds GROUP BY aa.questionId")
+    List<ItemTotals> findItemTotals(@Param("quizId") Long quizId, @Param("questionIds") List<Long> questionIds);
+
+    long countByQuizId(Long quizId);
+
+    @Query("SELECT a.id FROM QuizAttempt a WHERE a.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Score sketches at startup: one row per quiz and whole percent, aggregated in the database
+    @Query("SELECT new com.skillforge.dto.ScoreBinCount(a.quizId, q.topicId, "
+            + "FLOOR(100.0 * a.score / a.totalQuestions), COUNT(a), SUM(1.0 * a.score / a.totalQuestions)) "
+            + "FROM QuizAttempt a JOIN Quiz q ON q.id = a.quizId WHERE a.totalQuestions > 0 "
+            + "GROUP BY a.quizId, q.topicId, FLOOR(100.0 * a.score / a.totalQuestions)")
+    List<ScoreBinCount> findScoreBins();
+
+    // Attempts per topic (autocomplete popularity)
+    @Query("SELECT new com.skillforge.dto.IdCount(q.topicId, COUNT(a)) "
+            + "FROM QuizAttempt a JOIN Quiz q ON q.id = a.quizId GROUP BY q.topicId")
+    List<IdCount> countByTopic();
+
+    // ===============================
+    // INSTRUCTOR SUMMARY (quizzes and attempts under an instructor's courses)
+    // ===============================
+
+    String INSTRUCTOR_QUIZZES = "FROM Quiz q JOIN Topic t ON t.id = q.topicId JOIN t.subject s "
+            + "LEFT JOIN QuizAttempt a ON a.quizId = q.id WHERE s.course.instructor.id = :instructorId";
+
+    @Query("SELECT new com.skillforge.dto.QuizActivity(s.course.id, COUNT(DISTINCT q.id), COUNT(a.id), "
+            + "COUNT(DISTINCT a.userId), AVG(100.0 * a.score / a.totalQuestions)) "
+            + INSTRUCTOR_QUIZZES + " GROUP BY s.course.id")
+    List<QuizActivity> findActivityByCourseForInstructor(@Param("instructorId") Long instructorId);
+
+    // Students are counted once across courses, so this cannot be summed from the rows above
+    @Query("SELECT COUNT(DISTINCT a.userId) " + INSTRUCTOR_QUIZZES)
+    long countStudentsForInstructor(@Param("instructorId") Long instructorId);
+
+    @Query("SELECT new com.skillforge.dto.RecentAttempt(a.id, a.userId, u.name, q.id, q.title, "
+            + "a.score, a.totalQuestions, a.timestamp) "
+            + "FROM QuizAttempt a JOIN Quiz q ON q.id = a.quizId JOIN Topic t ON t.id = q.topicId "
+            + "JOIN t.subject s LEFT JOIN User u ON u.id = a.userId "
+            + "WHERE s.course.instructor.id = :instructorId ORDER BY a.timestamp DESC, a.id DESC")
+    List<RecentAttempt> findRecentForInstructor(@Param("instructorId") Long instructorId, Limit limit);
+}
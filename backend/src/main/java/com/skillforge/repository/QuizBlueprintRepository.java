@@ -0,0 +1,31 @@
+package com.skillforge.repository;
+
+import com.skillforge.dto.BlueprintRow;
+import com.skillforge.model.QuizBlueprint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface QuizBlueprintRepository extends JpaRepository<QuizBlueprint, Long> {
+
+    String ROW = "SELECT new com.skillforge.dto.BlueprintRow(b.quizId, q.displayId, q.title, q.topicId, "
+            + "b.easyCount, b.mediumCount, b.hardCount, b.tags, b.easyQuestionIds, b.mediumQuestionIds, "
+            + "b.hardQuestionIds, b.shuffleOptions, b.seed) "
+            + "FROM QuizBlueprint b JOIN Quiz q ON q.id = b.quizId";
+
+    @Query(ROW)
+    List<BlueprintRow> findAllRows();
+
+    @Query(ROW + " WHERE b.quizId = :quizId")
+    Optional<BlueprintRow> findRowByQuizId(@Param("quizId") Long quizId);
+
+    @Modifying
+    @Query("DELETE FROM QuizBlueprint b WHERE b.quizId IN "
+            + "(SELECT z.id FROM Quiz z WHERE z.topicId IN (" + TopicRepository.IDS_BY_COURSE + "))")
+    int bulkDeleteByCourseId(@Param("courseId") Long courseId);
+}
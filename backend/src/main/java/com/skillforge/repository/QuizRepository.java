@@ -1,20 +1,87 @@
 package com.skillforge.repository;
 
 import com.skillforge.model.Quiz;
+import com.skillforge.dto.AnswerKeyRow;
+import com.skillforge.dto.QuizSummary;
+import com.skillforge.dto.VersionStamp;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
 
+    // Listing projection: questions are counted in SQL instead of being loaded
+    String SUMMARY = "SELECT new com.skillforge.dto.QuizSummary(q.id, q.displayId, q.title, q.topicId, "
+            + "q.createdAt, SIZE(q.questions)) FROM Quiz q";
+
+    // Same rows without the per-quiz count subquery, for ?fields= lists that skip totalQuestions
+    String SUMMARY_WITHOUT_COUNT = "SELECT new com.skillforge.dto.QuizSummary(q.id, q.displayId, q.title, "
+            + "q.topicId, q.createdAt) FROM Quiz q";
+
     /** ✅ Finds quizzes by Topic ID (Used for instructor management) */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Quiz> findByTopicId(Long topicId);
 
     /** ✅ Finds a specific quiz by its public Display ID (Used for TakeQuiz.jsx) */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Quiz> findByDisplayId(String displayId);
 
     /** ✅ Check if a Display ID already exists (Useful during generation) */
     boolean existsByDisplayId(String displayId);
-}
\ No newline at end of file
+
+    /** ✅ Loads quizzes of many topics at once (course tree) */
+    List<Quiz> findByTopicIdInOrderByIdAsc(Collection<Long> topicIds);
+
+    @Query(SUMMARY + " ORDER BY q.id")
+    List<QuizSummary> findAllSummaries();
+
+    // Keyset pagination: seek past the last id of the previous page
+    @Query(SUMMARY + " WHERE q.id > :afterId ORDER BY q.id")
+    List<QuizSummary> findSummariesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY + " WHERE q.topicId = :topicId ORDER BY q.id")
+    List<QuizSummary> findSummariesByTopicId(@Param("topicId") Long topicId);
+
+    @Query(SUMMARY_WITHOUT_COUNT + " ORDER BY q.id")
+    List<QuizSummary> findAllSummariesWithoutCount();
+
+    @Query(SUMMARY_WITHOUT_COUNT + " WHERE q.id > :afterId ORDER BY q.id")
+    List<QuizSummary> findSummariesWithoutCountAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(SUMMARY_WITHOUT_COUNT + " WHERE q.topicId = :topicId ORDER BY q.id")
+    List<QuizSummary> findSummariesWithoutCountByTopicId(@Param("topicId") Long topicId);
+
+    // ETag stamps (questions are only written together with their quiz)
+    @Query("SELECT new com.skillforge.dto.VersionStamp(COUNT(q), MAX(q.id), SUM(q.id), SUM(q.version)) FROM Quiz q")
+    VersionStamp stamp();
+
+    @Query("SELECT new com.skillforge.dto.VersionStamp(COUNT(q), MAX(q.id), SUM(q.id), SUM(q.version)) "
+            + "FROM Quiz q WHERE q.topicId = :topicId")
+    VersionStamp stampByTopicId(@Param("topicId") Long topicId);
+
+    // Questions first: quiz_questions.quiz_id references quizzes
+    @Modifying
+    @Query("DELETE FROM Question q WHERE q.quiz.id IN "
+            + "(SELECT z.id FROM Quiz z WHERE z.topicId IN (" + TopicRepository.IDS_BY_COURSE + "))")
+    int bulkDeleteQuestionsByCourseId(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("DELETE FROM Quiz z WHERE z.topicId IN (" + TopicRepository.IDS_BY_COURSE + ")")
+    int bulkDeleteByCourseId(@Param("courseId") Long courseId);
+
+    // Answer key source (see QuizGrader): two columns, in the order the quiz lists its questions
+    @Query("SELECT new com.skillforge.dto.AnswerKeyRow(q.id, q.correctOption) FROM Question q "
+            + "WHERE q.quiz.id = :quizId ORDER BY q.id")
+    List<AnswerKeyRow> findAnswerKeyRows(@Param("quizId") Long quizId);
+}
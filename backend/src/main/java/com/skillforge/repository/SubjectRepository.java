@@ -1,20 +1,87 @@
 package com.skillforge.repository;
 
 import com.skillforge.model.Subject;
+import com.skillforge.dto.SubjectRef;
+import com.skillforge.dto.SubjectSummary;
+import com.skillforge.dto.SearchDocument;
+import com.skillforge.dto.VersionStamp;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
 
+    // Listing projection: course and instructor flattened to id + label
+    String SUMMARY = "SELECT new com.skillforge.dto.SubjectSummary(s.id, s.name, s.description, s.createdAt, "
+            + "c.id, c.title, i.id, i.name) FROM Subject s JOIN s.course c LEFT JOIN s.instructor i";
+
     @Query("SELECT s FROM Subject s WHERE s.course.id = :courseId")
     List<Subject> findByCourseId(@Param("courseId") Long courseId);
 
     // FIXED: Now uses s.instructor.id instead of s.instructorId
     @Query("SELECT s FROM Subject s WHERE s.instructor.id = :instructorId")
     List<Subject> findByInstructorId(@Param("instructorId") Long instructorId);
-}
\ No newline at end of file
+
+    // Course tree level 2: all subjects of a course with their instructor in one statement
+    @Query("SELECT s FROM Subject s LEFT JOIN FETCH s.instructor WHERE s.course.id = :courseId ORDER BY s.id")
+    List<Subject> findWithInstructorByCourseId(@Param("courseId") Long courseId);
+
+    // Response fetch plan for a saved subject (open-in-view is off: nothing loads during JSON writing)
+    @Query("SELECT s FROM Subject s JOIN FETCH s.course LEFT JOIN FETCH s.instructor "
+            + "LEFT JOIN FETCH s.topics WHERE s.id = :id")
+    Optional<Subject> findGraphById(@Param("id") Long id);
+
+    @Query("SELECT s.course.id FROM Subject s WHERE s.id = :id")
+    Optional<Long> findCourseIdById(@Param("id") Long id);
+
+    @Query(SUMMARY + " ORDER BY s.id")
+    List<SubjectSummary> findAllSummaries();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY + " WHERE c.id = :courseId ORDER BY s.id")
+    List<SubjectSummary> findSummariesByCourseId(@Param("courseId") Long courseId);
+
+    @Query(SUMMARY + " WHERE s.id = :id")
+    Optional<SubjectSummary> findSummaryById(@Param("id") Long id);
+
+    @Query(SUMMARY + " WHERE s.id IN :ids ORDER BY s.id")
+    List<SubjectSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Subject id + name of many courses at once (embedded in CourseSummary)
+    @Query("SELECT new com.skillforge.dto.SubjectRef(s.id, s.name, s.course.id) FROM Subject s "
+            + "WHERE s.course.id IN :courseIds ORDER BY s.id")
+    List<SubjectRef> findRefsByCourseIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    // ETag stamps: the course version is folded in because subjects embed their course
+    @Query("SELECT new com.skillforge.dto.VersionStamp(COUNT(s), MAX(s.id), SUM(s.id), SUM(s.version + c.version)) "
+            + "FROM Subject s JOIN s.course c")
+    VersionStamp stamp();
+
+    // Search index source rows (see SearchIndex); streamed so startup holds one row at a time
+    String SEARCH_DOCUMENT = "SELECT new com.skillforge.dto.SearchDocument(s.id, s.course.id, s.name, s.description) FROM Subject s";
+
+    @Query(SEARCH_DOCUMENT)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<SearchDocument> streamSearchDocuments();
+
+    @Query(SEARCH_DOCUMENT + " WHERE s.id = :id")
+    Optional<SearchDocument> findSearchDocumentById(@Param("id") Long id);
+
+    @Query(SEARCH_DOCUMENT + " WHERE s.id IN :ids")
+    List<SearchDocument> findSearchDocumentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Subject s WHERE s.course.id = :courseId")
+    int bulkDeleteByCourseId(@Param("courseId") Long courseId);
+}
@@ -0,0 +1,22 @@
+package com.skillforge.repository;
+
+import com.skillforge.model.TopicContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TopicContentRepository extends JpaRepository<TopicContent, Long> {
+
+    // Topics of a subject go with it through the JPA cascade; their contents do not
+    @Modifying
+    @Query("DELETE FROM TopicContent c WHERE c.topicId IN "
+            + "(SELECT t.id FROM Topic t WHERE t.subject.id = :subjectId)")
+    int bulkDeleteBySubjectId(@Param("subjectId") Long subjectId);
+
+    @Modifying
+    @Query("DELETE FROM TopicContent c WHERE c.topicId IN (" + TopicRepository.IDS_BY_COURSE + ")")
+    int bulkDeleteByCourseId(@Param("courseId") Long courseId);
+}
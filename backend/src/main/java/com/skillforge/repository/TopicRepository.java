@@ -1,14 +1,80 @@
 package com.skillforge.repository;
 
 import com.skillforge.model.Topic;
+import com.skillforge.dto.TopicSummary;
+import com.skillforge.dto.SearchDocument;
+import com.skillforge.dto.VersionStamp;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TopicRepository extends JpaRepository<Topic, Long> {
 
+    // Listing projection: no TEXT content, subject flattened to id + name
+    String SUMMARY = "SELECT new com.skillforge.dto.TopicSummary(t.id, t.name, t.type, s.id, s.name) "
+            + "FROM Topic t JOIN t.subject s";
+
     // ✅ Use findBySubject_Id to navigate the relationship
     // This tells JPA: Select * from topics where subject_id = ?
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Topic> findBySubject_Id(Long subjectId);
-}
\ No newline at end of file
+
+    // Course tree level 3: topics of many subjects with a single IN query
+    List<Topic> findBySubject_IdInOrderByIdAsc(Collection<Long> subjectIds);
+
+    // Cached topic graph: subject with its course and instructor in one statement
+    @Query("SELECT t FROM Topic t JOIN FETCH t.subject s JOIN FETCH s.course LEFT JOIN FETCH s.instructor "
+            + "WHERE t.id = :id")
+    Optional<Topic> findGraphById(@Param("id") Long id);
+
+    @Query(SUMMARY + " ORDER BY t.id")
+    List<TopicSummary> findAllSummaries();
+
+    @Query(SUMMARY + " WHERE t.id = :id")
+    Optional<TopicSummary> findSummaryById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY + " WHERE s.id = :subjectId ORDER BY t.id")
+    List<TopicSummary> findSummariesBySubjectId(@Param("subjectId") Long subjectId);
+
+    // ETag stamps: subject and course versions are folded in because topics embed both
+    @Query("SELECT new com.skillforge.dto.VersionStamp(COUNT(t), MAX(t.id), SUM(t.id), SUM(t.version + s.version + c.version)) "
+            + "FROM Topic t JOIN t.subject s JOIN s.course c")
+    VersionStamp stamp();
+
+    @Query("SELECT new com.skillforge.dto.VersionStamp(COUNT(t), MAX(t.id), SUM(t.id), SUM(t.version + s.version + c.version)) "
+            + "FROM Topic t JOIN t.subject s JOIN s.course c WHERE t.id = :id")
+    VersionStamp stampById(@Param("id") Long id);
+
+    // Search index source rows (see SearchIndex); streamed so startup holds one row at a time
+    String SEARCH_DOCUMENT = "SELECT new com.skillforge.dto.SearchDocument(t.id, t.subject.id, t.name, c.content) "
+            + "FROM Topic t LEFT JOIN TopicContent c ON c.topicId = t.id";
+
+    @Query(SEARCH_DOCUMENT)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<SearchDocument> streamSearchDocuments();
+
+    @Query(SEARCH_DOCUMENT + " WHERE t.id = :id")
+    Optional<SearchDocument> findSearchDocumentById(@Param("id") Long id);
+
+    // ===============================
+    // SET-BASED COURSE DELETE (see CourseService.delete)
+    // ===============================
+
+    // Subquery reused by the per-level deletes of a course's quizzes and materials
+    String IDS_BY_COURSE = "SELECT t.id FROM Topic t WHERE t.subject.course.id = :courseId";
+
+    @Modifying
+    @Query("DELETE FROM Topic t WHERE t.subject.id IN (SELECT s.id FROM Subject s WHERE s.course.id = :courseId)")
+    int bulkDeleteByCourseId(@Param("courseId") Long courseId);
+}
@@ -2,8 +2,23 @@ package com.skillforge.repository;
 
 import com.skillforge.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    // The JWT subject is the email (see CurrentUser)
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    // Bulk validation: which of these ids exist / are instructors (no entity hydration)
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.role = 'INSTRUCTOR'")
+    List<Long> findInstructorIdsByIdIn(@Param("ids") Collection<Long> ids);
 }
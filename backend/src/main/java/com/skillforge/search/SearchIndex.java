@@ -0,0 +1,466 @@
+package com.skillforge.search;
+
+import com.skillforge.dto.SearchDocument;
+import com.skillforge.dto.SearchHit;
+import com.skillforge.event.CatalogChangedEvent;
+import com.skillforge.event.CatalogChangedEvent.Type;
+import com.skillforge.event.SubjectsImportedEvent;
+import com.skillforge.repository.CourseRepository;
+import com.skillforge.repository.MaterialRepository;
+import com.skillforge.repository.SubjectRepository;
+import com.skillforge.repository.TopicRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over course titles/descriptions, subject names/descriptions,
+ * topic names/content and material titles, ranked with BM25.
+ *
+ * Built once at startup and then kept current from CatalogChangedEvent: only the
+ * changed row is re-read after commit. Searches share a read lock; updates take
+ * the write lock for the few microseconds needed to patch the postings.
+ */
+@Component
+public class SearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndex.class);
+
+    // BM25 parameters (standard defaults)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // A title term counts as this many body occurrences
+    private static final int TITLE_BOOST = 3;
+
+    // Updates append a new ordinal and tombstone the old one; compact when tombstones dominate
+    private static final int COMPACT_MIN_DEAD = 10_000;
+
+    private final CourseRepository courseRepository;
+    private final SubjectRepository subjectRepository;
+    private final TopicRepository topicRepository;
+    private final MaterialRepository materialRepository;
+    private final TransactionTemplate readTx;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializes writers (full build vs. incremental updates) without blocking searches during a build
+    private final Object writeMonitor = new Object();
+    private Index index = new Index();
+
+    public SearchIndex(CourseRepository courseRepository,
+                       SubjectRepository subjectRepository,
+                       TopicRepository topicRepository,
+                       MaterialRepository materialRepository,
+                       PlatformTransactionManager transactionManager) {
+        this.courseRepository = courseRepository;
+        this.subjectRepository = subjectRepository;
+        this.topicRepository = topicRepository;
+        this.materialRepository = materialRepository;
+        this.readTx = new TransactionTemplate(transactionManager);
+        // Listener runs after the writer's commit: always use a fresh transaction
+        this.readTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTx.setReadOnly(true);
+    }
+
+    // ===============================
+    // SEARCH
+    // ===============================
+
+    /**
+     * Top documents for the query, best first. Terms are OR-ed; documents matching
+     * more (and rarer) terms rank higher. An empty type set means all types.
+     */
+    public List<SearchHit> search(String query, Set<Type> types, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.analyze(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(terms, types == null || types.isEmpty() ? EnumSet.allOf(Type.class) : types, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("documents", index.liveDocs);
+            stats.put("terms", index.postings.size());
+            stats.put("tombstones", index.docs.size() - index.liveDocs);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===============================
+    // FULL BUILD
+    // ===============================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    /** Re-reads every indexed row (startup, or after a failed incremental update). */
+    public void rebuild() {
+        synchronized (writeMonitor) {
+            long started = System.nanoTime();
+            Index built = new Index();
+            readTx.executeWithoutResult(status -> {
+                addAll(built, Type.COURSE, courseRepository.streamSearchDocuments());
+                addAll(built, Type.SUBJECT, subjectRepository.streamSearchDocuments());
+                addAll(built, Type.TOPIC, topicRepository.streamSearchDocuments());
+                addAll(built, Type.MATERIAL, materialRepository.streamSearchDocuments());
+            });
+            lock.writeLock().lock();
+            try {
+                index = built;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Search index built: {} documents, {} terms in {} ms",
+                    built.liveDocs, built.postings.size(), (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private static void addAll(Index target, Type type, Stream<SearchDocument> documents) {
+        try (documents) {
+            documents.forEach(document -> target.put(type, document));
+        }
+    }
+
+    // ===============================
+    // INCREMENTAL UPDATES
+    // ===============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        try {
+            synchronized (writeMonitor) {
+                Optional<SearchDocument> document = readTx.execute(status -> load(event.type(), event.id()));
+                lock.writeLock().lock();
+                try {
+                    if (document.isPresent()) {
+                        index.put(event.type(), document.get());
+                    } else {
+                        index.removeWithChildren(event.type(), event.id());
+                    }
+                    index.compactIfNeeded();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Incremental search index update failed for {}, rebuilding", event, e);
+            try {
+                rebuild();
+            } catch (RuntimeException rebuildFailure) {
+                // The write itself is committed; keep serving the previous index
+                log.error("Search index rebuild failed", rebuildFailure);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubjectsImported(SubjectsImportedEvent event) {
+        try {
+            synchronized (writeMonitor) {
+                List<SearchDocument> documents = readTx.execute(
+                        status -> subjectRepository.findSearchDocumentsByIdIn(event.subjectIds()));
+                lock.writeLock().lock();
+                try {
+                    documents.forEach(document -> index.put(Type.SUBJECT, document));
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Indexing {} imported subjects failed, rebuilding", event.subjectIds().size(), e);
+            try {
+                rebuild();
+            } catch (RuntimeException rebuildFailure) {
+                log.error("Search index rebuild failed", rebuildFailure);
+            }
+        }
+    }
+
+    private Optional<SearchDocument> load(Type type, Long id) {
+        return switch (type) {
+            case COURSE -> courseRepository.findSearchDocumentById(id);
+            case SUBJECT -> subjectRepository.findSearchDocumentById(id);
+            case TOPIC -> topicRepository.findSearchDocumentById(id);
+            case MATERIAL -> materialRepository.findSearchDocumentById(id);
+        };
+    }
+
+    // ===============================
+    // DATA STRUCTURES
+    // ===============================
+
+    private record DocKey(Type type, long id) {}
+
+    // Deleting a course removes its subjects, topics and materials in the database;
+    // materials of a deleted topic are unreachable either way
+    private static Type childType(Type type) {
+        return switch (type) {
+            case COURSE -> Type.SUBJECT;
+            case SUBJECT -> Type.TOPIC;
+            case TOPIC -> Type.MATERIAL;
+            case MATERIAL -> null;
+        };
+    }
+
+    private static Type parentType(Type type) {
+        return switch (type) {
+            case COURSE -> null;
+            case SUBJECT -> Type.COURSE;
+            case TOPIC -> Type.SUBJECT;
+            case MATERIAL -> Type.TOPIC;
+        };
+    }
+
+    private static final class Doc {
+        final Type type;
+        final long id;
+        final Long parentId;
+        final String title;
+        final int length;
+        final String[] terms;
+        final int[] tfs;
+
+        Doc(Type type, long id, Long parentId, String title, int length, String[] terms, int[] tfs) {
+            this.type = type;
+            this.id = id;
+            this.parentId = parentId;
+            this.title = title;
+            this.length = length;
+            this.terms = terms;
+            this.tfs = tfs;
+        }
+    }
+
+    /** Doc ordinals with term frequencies, ascending by ordinal (new docs always append). */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] tfs = new int[4];
+        int size;
+
+        void add(int doc, int tf) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            docs[size] = doc;
+            tfs[size] = tf;
+            size++;
+        }
+
+        void remove(int doc) {
+            int at = Arrays.binarySearch(docs, 0, size, doc);
+            if (at < 0) {
+                return;
+            }
+            System.arraycopy(docs, at + 1, docs, at, size - at - 1);
+            System.arraycopy(tfs, at + 1, tfs, at, size - at - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Query-time scores by ordinal: open addressing sized to the postings of the query
+     * terms, so a search allocates in proportion to its matches, not to the index.
+     */
+    private static final class Scores {
+        final int[] ordinals;   // ordinal + 1, 0 = free slot
+        final float[] values;
+        final int shift;
+
+        Scores(int expected) {
+            // Power of two at least twice the entries: probes stay short
+            int capacity = Integer.highestOneBit(Math.max(expected, 2) * 2 - 1) << 1;
+            ordinals = new int[capacity];
+            values = new float[capacity];
+            shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        }
+
+        void add(int ordinal, float score) {
+            int mask = ordinals.length - 1;
+            int slot = (ordinal * 0x9E3779B9) >>> shift;
+            while (ordinals[slot] != 0 && ordinals[slot] != ordinal + 1) {
+                slot = (slot + 1) & mask;
+            }
+            ordinals[slot] = ordinal + 1;
+            values[slot] += score;
+        }
+    }
+
+    /** Mutable index state; guarded by the outer lock once published. */
+    private static final class Index {
+        final List<Doc> docs = new ArrayList<>(); // by ordinal, null = removed
+        final Map<DocKey, Integer> ordinals = new HashMap<>();
+        // Ids of the indexed children under each parent key, whether or not the parent is indexed
+        final Map<DocKey, Set<Long>> children = new HashMap<>();
+        final Map<String, Postings> postings = new HashMap<>();
+        long totalLength;
+        int liveDocs;
+
+        void put(Type type, SearchDocument document) {
+            remove(type, document.id());
+
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            int length = 0;
+            for (String term : TextAnalyzer.analyze(document.title())) {
+                counts.merge(term, TITLE_BOOST, Integer::sum);
+                length += TITLE_BOOST;
+            }
+            for (String term : TextAnalyzer.analyze(document.body())) {
+                counts.merge(term, 1, Integer::sum);
+                length++;
+            }
+            if (counts.isEmpty()) {
+                return;
+            }
+
+            String[] terms = counts.keySet().toArray(new String[0]);
+            int[] tfs = new int[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                tfs[i] = counts.get(terms[i]);
+            }
+            insert(new Doc(type, document.id(), document.parentId(), document.title(), length, terms, tfs));
+        }
+
+        private void insert(Doc doc) {
+            int ordinal = docs.size();
+            docs.add(doc);
+            ordinals.put(new DocKey(doc.type, doc.id), ordinal);
+            if (doc.parentId != null) {
+                children.computeIfAbsent(new DocKey(parentType(doc.type), doc.parentId), key -> new HashSet<>())
+                        .add(doc.id);
+            }
+            for (int i = 0; i < doc.terms.length; i++) {
+                postings.computeIfAbsent(doc.terms[i], t -> new Postings()).add(ordinal, doc.tfs[i]);
+            }
+            totalLength += doc.length;
+            liveDocs++;
+        }
+
+        void remove(Type type, long id) {
+            Integer ordinal = ordinals.remove(new DocKey(type, id));
+            if (ordinal == null) {
+                return;
+            }
+            Doc doc = docs.set(ordinal, null);
+            if (doc.parentId != null) {
+                DocKey parent = new DocKey(parentType(type), doc.parentId);
+                Set<Long> siblings = children.get(parent);
+                if (siblings != null && siblings.remove(id) && siblings.isEmpty()) {
+                    children.remove(parent);
+                }
+            }
+            for (String term : doc.terms) {
+                Postings list = postings.get(term);
+                list.remove(ordinal);
+                if (list.size == 0) {
+                    postings.remove(term);
+                }
+            }
+            totalLength -= doc.length;
+            liveDocs--;
+        }
+
+        void removeWithChildren(Type type, long id) {
+            remove(type, id);
+            Set<Long> ids = children.remove(new DocKey(type, id));
+            if (ids != null) {
+                Type childType = childType(type);
+                ids.forEach(child -> removeWithChildren(childType, child));
+            }
+        }
+
+        void compactIfNeeded() {
+            int dead = docs.size() - liveDocs;
+            if (dead < COMPACT_MIN_DEAD || dead < liveDocs) {
+                return;
+            }
+            List<Doc> live = docs.stream().filter(Objects::nonNull).toList();
+            docs.clear();
+            ordinals.clear();
+            children.clear();
+            postings.clear();
+            totalLength = 0;
+            liveDocs = 0;
+            live.forEach(this::insert);
+        }
+
+        List<SearchHit> search(List<String> terms, Set<Type> types, int limit) {
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            double avgLength = (double) totalLength / liveDocs;
+            List<Postings> lists = new ArrayList<>(terms.size());
+            int matches = 0;
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list != null) {
+                    lists.add(list);
+                    matches += list.size;
+                }
+            }
+            if (matches == 0) {
+                return List.of();
+            }
+            Scores scores = new Scores(matches);
+
+            for (Postings list : lists) {
+                double idf = Math.log(1 + (liveDocs - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int ordinal = list.docs[i];
+                    Doc doc = docs.get(ordinal);
+                    if (!types.contains(doc.type)) {
+                        continue;
+                    }
+                    int tf = list.tfs[i];
+                    double norm = K1 * (1 - B + B * doc.length / avgLength);
+                    scores.add(ordinal, (float) (idf * tf * (K1 + 1) / (tf + norm)));
+                }
+            }
+
+            // Min-heap of the best `limit` slots
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1,
+                    Comparator.comparingDouble((Integer slot) -> scores.values[slot]));
+            for (int slot = 0; slot < scores.ordinals.length; slot++) {
+                if (scores.ordinals[slot] == 0) {
+                    continue;
+                }
+                top.add(slot);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                int slot = top.poll();
+                Doc doc = docs.get(scores.ordinals[slot] - 1);
+                hits.add(new SearchHit(doc.type, doc.id, doc.parentId, doc.title, scores.values[slot]));
+            }
+            Collections.reverse(hits);
+            return hits;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.skillforge.search;
+
+import com.skillforge.cache.CatalogSnapshot;
+import com.skillforge.dto.CourseSummary;
+import com.skillforge.dto.IdCount;
+import com.skillforge.dto.Suggestion;
+import com.skillforge.dto.SubjectSummary;
+import com.skillforge.dto.TopicSummary;
+import com.skillforge.event.CatalogChangedEvent;
+import com.skillforge.event.CatalogChangedEvent.Type;
+import com.skillforge.event.SubjectsImportedEvent;
+import com.skillforge.repository.QuizAttemptRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Prefix autocomplete over course titles, subject names and topic names.
+ *
+ * Every name is indexed under each of its word starts ("spring boot basics" is also
+ * found by "boot" and "basics"). Keys are kept in one sorted array, so a prefix is a
+ * contiguous range found by binary search; a sparse table over the weights answers
+ * "heaviest key in range" in O(1), which gives the top k of a range in O(k log k)
+ * without storing a top-k list per trie node.
+ *
+ * Weight is popularity: quiz attempts on a topic, summed up to its subject and course.
+ * Names come from the CatalogSnapshot, so rebuilding never touches the database;
+ * attempt counts are refreshed on a slower schedule.
+ */
+@Component
+public class SuggestionIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestionIndex.class);
+
+    // Long titles: only the first words are useful entry points
+    private static final int MAX_WORD_STARTS = 8;
+
+    private final CatalogSnapshot snapshot;
+    private final QuizAttemptRepository quizAttemptRepository;
+
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private volatile Map<Long, Long> attemptsByTopic = Map.of();
+    private volatile Dictionary dictionary = Dictionary.build(List.of(), new long[0]);
+
+    public SuggestionIndex(CatalogSnapshot snapshot, QuizAttemptRepository quizAttemptRepository) {
+        this.snapshot = snapshot;
+        this.quizAttemptRepository = quizAttemptRepository;
+    }
+
+    /** Most popular names starting with (a word starting with) the prefix. */
+    public List<Suggestion> suggest(String prefix, Set<Type> types, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return dictionary.top(key, types, limit);
+    }
+
+    // ===============================
+    // REBUILDS
+    // ===============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.type() != Type.MATERIAL) {
+            dirty.set(true);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubjectsImported(SubjectsImportedEvent event) {
+        dirty.set(true);
+    }
+
+    // Coalesces bursts of catalog writes into one rebuild
+    @Scheduled(fixedDelayString = "${search.suggest.rebuild-delay-ms:2000}")
+    public void rebuildIfDirty() {
+        if (dirty.getAndSet(false)) {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                dirty.set(true);
+                log.warn("Suggestion index rebuild failed", e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.suggest.popularity-refresh-ms:600000}")
+    public void refreshPopularity() {
+        Map<Long, Long> counts = new HashMap<>();
+        for (IdCount row : quizAttemptRepository.countByTopic()) {
+            if (row.id() != null) {
+                counts.put(row.id(), row.count());
+            }
+        }
+        attemptsByTopic = counts;
+        dirty.set(true);
+    }
+
+    private void rebuild() {
+        Map<Long, Long> topicAttempts = attemptsByTopic;
+        List<Suggestion> suggestions = new ArrayList<>();
+        List<Long> weights = new ArrayList<>();
+
+        // Roll attempts up topic -> subject -> course; +1 keeps unvisited names rankable
+        Map<Long, Long> subjectWeight = new HashMap<>();
+        for (TopicSummary topic : snapshot.topics()) {
+            long weight = 1 + topicAttempts.getOrDefault(topic.id(), 0L);
+            suggestions.add(new Suggestion(Type.TOPIC, topic.id(), topic.subjectId(), topic.name()));
+            weights.add(weight);
+            subjectWeight.merge(topic.subjectId(), weight, Long::sum);
+        }
+        Map<Long, Long> courseWeight = new HashMap<>();
+        for (SubjectSummary subject : snapshot.subjects()) {
+            long weight = 1 + subjectWeight.getOrDefault(subject.id(), 0L);
+            suggestions.add(new Suggestion(Type.SUBJECT, subject.id(), subject.courseId(), subject.name()));
+            weights.add(weight);
+            courseWeight.merge(subject.courseId(), weight, Long::sum);
+        }
+        for (CourseSummary course : snapshot.courses()) {
+            suggestions.add(new Suggestion(Type.COURSE, course.id(), null, course.title()));
+            weights.add(1 + courseWeight.getOrDefault(course.id(), 0L));
+        }
+
+        dictionary = Dictionary.build(suggestions, weights.stream().mapToLong(Long::longValue).toArray());
+        log.debug("Suggestion index rebuilt: {} names, {} keys", suggestions.size(), dictionary.keys.length);
+    }
+
+    /** Lower case, every run of non letters/digits collapsed to one space. */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && out.length() > 0) {
+                    out.append(' ');
+                }
+                out.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return out.toString();
+    }
+
+    // ===============================
+    // DATA STRUCTURE
+    // ===============================
+
+    /** Immutable; replaced wholesale on rebuild. */
+    private static final class Dictionary {
+        final String[] keys;          // sorted
+        final int[] owner;            // key position -> suggestion index
+        final Suggestion[] suggestions;
+        final long[] weights;         // per suggestion
+        final int[][] sparse;         // sparse[j][i] = heaviest key position in [i, i + 2^j)
+
+        private Dictionary(String[] keys, int[] owner, Suggestion[] suggestions, long[] weights) {
+            this.keys = keys;
+            this.owner = owner;
+            this.suggestions = suggestions;
+            this.weights = weights;
+            this.sparse = buildSparse();
+        }
+
+        static Dictionary build(List<Suggestion> suggestions, long[] weights) {
+            record Key(String text, int owner) {}
+            List<Key> entries = new ArrayList<>();
+            for (int s = 0; s < suggestions.size(); s++) {
+                String name = normalize(suggestions.get(s).text());
+                if (name.isEmpty()) {
+                    continue;
+                }
+                entries.add(new Key(name, s));
+                int starts = 1;
+                for (int i = name.indexOf(' '); i >= 0 && starts < MAX_WORD_STARTS; i = name.indexOf(' ', i + 1)) {
+                    entries.add(new Key(name.substring(i + 1), s));
+                    starts++;
+                }
+            }
+            entries.sort(Comparator.comparing(Key::text));
+
+            String[] keys = new String[entries.size()];
+            int[] owner = new int[entries.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = entries.get(i).text();
+                owner[i] = entries.get(i).owner();
+            }
+            return new Dictionary(keys, owner, suggestions.toArray(new Suggestion[0]), weights);
+        }
+
+        private int[][] buildSparse() {
+            int n = keys.length;
+            int levels = n == 0 ? 1 : 32 - Integer.numberOfLeadingZeros(n);
+            int[][] table = new int[levels][];
+            table[0] = new int[n];
+            for (int i = 0; i < n; i++) {
+                table[0][i] = i;
+            }
+            for (int j = 1; j < levels; j++) {
+                int half = 1 << (j - 1);
+                int[] previous = table[j - 1];
+                int[] level = new int[n - (1 << j) + 1];
+                for (int i = 0; i < level.length; i++) {
+                    level[i] = heavier(previous[i], previous[i + half]);
+                }
+                table[j] = level;
+            }
+            return table;
+        }
+
+        // Ties go to the lower position, i.e. alphabetical order
+        private int heavier(int a, int b) {
+            return weights[owner[b]] > weights[owner[a]] ? b : a;
+        }
+
+        private int heaviest(int from, int to) { // [from, to)
+            int j = 31 - Integer.numberOfLeadingZeros(to - from);
+            return heavier(sparse[j][from], sparse[j][to - (1 << j)]);
+        }
+
+        List<Suggestion> top(String prefix, Set<Type> types, int limit) {
+            int from = lowerBound(prefix);
+            int to = lowerBound(prefix + Character.MAX_VALUE);
+            if (from >= to) {
+                return List.of();
+            }
+
+            record Range(int from, int to, int best) {}
+            PriorityQueue<Range> queue = new PriorityQueue<>((a, b) -> {
+                int byWeight = Long.compare(weights[owner[b.best]], weights[owner[a.best]]);
+                return byWeight != 0 ? byWeight : Integer.compare(a.best, b.best);
+            });
+            queue.add(new Range(from, to, heaviest(from, to)));
+
+            List<Suggestion> result = new ArrayList<>(limit);
+            Set<Integer> seen = new HashSet<>();
+            while (!queue.isEmpty() && result.size() < limit) {
+                Range range = queue.poll();
+                int s = owner[range.best];
+                // A name can sit in the range under several of its word starts
+                if (seen.add(s) && (types == null || types.isEmpty() || types.contains(suggestions[s].type()))) {
+                    result.add(suggestions[s]);
+                }
+                if (range.from < range.best) {
+                    queue.add(new Range(range.from, range.best, heaviest(range.from, range.best)));
+                }
+                if (range.best + 1 < range.to) {
+                    queue.add(new Range(range.best + 1, range.to, heaviest(range.best + 1, range.to)));
+                }
+            }
+            return result;
+        }
+
+        private int lowerBound(String key) {
+            int lo = 0;
+            int hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
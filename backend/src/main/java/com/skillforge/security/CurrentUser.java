@@ -0,0 +1,36 @@
+package com.skillforge.security;
+
+import com.skillforge.cache.BoundedCache;
+import com.skillforge.repository.UserRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Id of the authenticated user. The JWT subject is the email (see JwtFilter); its id
+ * is looked up once and cached, so per-request callers cost no query.
+ */
+@Component
+public class CurrentUser {
+
+    private final UserRepository userRepository;
+    private final BoundedCache<String, Long> ids =
+            new BoundedCache<>("user-ids", 10_000, Duration.ofHours(1), id -> 1);
+
+    public CurrentUser(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /** Empty when nobody is authenticated or the account no longer exists. */
+    public Optional<Long> id() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return Optional.empty();
+        }
+        String email = authentication.getName();
+        return Optional.ofNullable(ids.get(email, () -> userRepository.findIdByEmail(email).orElse(null)));
+    }
+}
@@ -0,0 +1,299 @@
+package com.skillforge.service;
+
+import com.skillforge.config.ReplicaRouting;
+import com.skillforge.event.AttemptsRecordedEvent;
+import com.skillforge.exception.AttemptBufferFullException;
+import com.skillforge.model.AttemptAnswer;
+import com.skillforge.model.AttemptLogCheckpoint;
+import com.skillforge.model.Quiz;
+import com.skillforge.model.QuizAttempt;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind ingestion of quiz attempts (quiz.attempts.write-behind.enabled).
+ *
+ * A submission is appended to the local AttemptLog and acknowledged as soon as it is
+ * on disk; one writer thread drains the buffer and stores whatever has piled up in a
+ * single transaction, as batched multi-row inserts, together with the log checkpoint.
+ * On startup everything after the checkpoint is replayed. When the buffer is full
+ * submissions wait briefly and are then refused with 503. The submitting user is held
+ * on the primary (ReplicaRouting) until their attempt is stored, so their history
+ * never comes from a replica that has not seen it yet.
+ *
+ * Disabled (the default), QuizService writes each attempt in its own transaction.
+ */
+@Component
+public class AttemptIngestion implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(AttemptIngestion.class);
+
+    private static final long IDLE_POLL_MS = 200;
+    private static final long MAX_RETRY_DELAY_MS = 5_000;
+
+    private static final String UPSERT_CHECKPOINT = "INSERT INTO attempt_log_checkpoints (log_id, last_seq) "
+            + "VALUES (?1, ?2) ON DUPLICATE KEY UPDATE last_seq = GREATEST(last_seq, VALUES(last_seq))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher events;
+    private final ReplicaRouting replicaRouting;
+    private final boolean enabled;
+    private final String logDir;
+    private final long segmentBytes;
+    private final boolean fsync;
+    private final int batchSize;
+    private final long acquireTimeoutMs;
+
+    private final BlockingQueue<GradedAttempt> buffer = new LinkedBlockingQueue<>();
+    private final Map<Long, String> heldBySeq = new ConcurrentHashMap<>();     // read-your-writes holds
+    private final Semaphore capacity;
+    private final int bufferSize;
+
+    private final AtomicLong flushedBatches = new AtomicLong();
+    private final AtomicLong flushedAttempts = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile long committedSeq;
+
+    private AttemptLog attemptLog;
+    private Thread writer;
+    private volatile boolean running;
+
+    public AttemptIngestion(PlatformTransactionManager transactionManager,
+                            ApplicationEventPublisher events,
+                            ReplicaRouting replicaRouting,
+                            @Value("${quiz.attempts.write-behind.enabled:false}") boolean enabled,
+                            @Value("${quiz.attempts.write-behind.log-dir:data/attempt-log}") String logDir,
+                            @Value("${quiz.attempts.write-behind.segment-bytes:16777216}") long segmentBytes,
+                            @Value("${quiz.attempts.write-behind.fsync:true}") boolean fsync,
+                            @Value("${quiz.attempts.write-behind.buffer-size:20000}") int bufferSize,
+                            @Value("${quiz.attempts.write-behind.batch-size:500}") int batchSize,
+                            @Value("${quiz.attempts.write-behind.acquire-timeout-ms:250}") long acquireTimeoutMs) {
+        this.tx = new TransactionTemplate(transactionManager);
+        this.events = events;
+        this.replicaRouting = replicaRouting;
+        this.enabled = enabled;
+        this.logDir = logDir;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        this.bufferSize = bufferSize;
+        this.capacity = new Semaphore(bufferSize);
+        this.batchSize = batchSize;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Logs the attempt and returns it with its log sequence; stored in the database shortly after. */
+    public GradedAttempt submit(GradedAttempt attempt) {
+        if (!running) {
+            throw new AttemptBufferFullException("Attempt ingestion is not running, please retry.");
+        }
+        try {
+            if (!capacity.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejected.incrementAndGet();
+                throw new AttemptBufferFullException("Too many submissions in progress, please retry in a moment.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AttemptBufferFullException("Interrupted while waiting for buffer space.");
+        }
+        // Held before the append: the writer may store the attempt before append() returns
+        String user = replicaRouting.holdCurrentUser();
+        try {
+            return attemptLog.append(attempt, queued -> {
+                if (user != null) {
+                    heldBySeq.put(queued.seq(), user);
+                }
+                buffer.add(queued);
+            });
+        } catch (IOException e) {
+            // Not written, so never queued: the permit and the hold are still ours
+            capacity.release();
+            replicaRouting.release(user);
+            throw new UncheckedIOException("Could not write attempt log", e);
+        }
+    }
+
+    // ===============================
+    // STARTUP: REPLAY, THEN START THE WRITER
+    // ===============================
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            attemptLog = AttemptLog.open(Paths.get(logDir).toAbsolutePath().normalize(), segmentBytes, fsync);
+            AttemptLogCheckpoint checkpoint = tx.execute(status ->
+                    entityManager.find(AttemptLogCheckpoint.class, attemptLog.id()));
+            committedSeq = checkpoint == null ? 0 : checkpoint.getLastSeq();
+            List<GradedAttempt> pending = attemptLog.replay(committedSeq);
+
+            running = true;
+            writer = new Thread(this::drain, "attempt-writer");
+            writer.setDaemon(true);
+            writer.start();
+            // The writer is already draining, so a backlog larger than the buffer cannot block here
+            for (GradedAttempt attempt : pending) {
+                capacity.acquireUninterruptibly();
+                buffer.add(attempt);
+            }
+            log.info("Attempt write-behind log {} opened at {}: {} attempts replayed",
+                    attemptLog.id(), logDir, pending.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open attempt log at " + logDir, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException, IOException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        attemptLog.close();
+        if (!buffer.isEmpty()) {
+            log.warn("{} attempts not stored at shutdown; they stay in the log and are replayed on restart",
+                    buffer.size());
+        }
+    }
+
+    // ===============================
+    // WRITER THREAD
+    // ===============================
+
+    private void drain() {
+        List<GradedAttempt> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                GradedAttempt first = buffer.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // Everything that queued up during the previous flush goes out together
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                if (!flushWithRetry(batch)) {
+                    return;
+                }
+                long lastSeq = batch.get(batch.size() - 1).seq();
+                committedSeq = lastSeq;
+                for (GradedAttempt attempt : batch) {
+                    replicaRouting.release(heldBySeq.remove(attempt.seq()));
+                }
+                capacity.release(batch.size());
+                attemptLog.release(lastSeq);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Keeps the batch until it is stored: the log holds it, and the buffer applies backpressure meanwhile
+    private boolean flushWithRetry(List<GradedAttempt> batch) throws InterruptedException {
+        long delay = 100;
+        while (true) {
+            try {
+                flush(batch);
+                flushedBatches.incrementAndGet();
+                flushedAttempts.addAndGet(batch.size());
+                return true;
+            } catch (RuntimeException e) {
+                failedFlushes.incrementAndGet();
+                if (!running) {
+                    log.warn("Giving up on {} attempts at shutdown; they are replayed on restart", batch.size(), e);
+                    return false;
+                }
+                log.warn("Storing {} attempts failed, retrying in {} ms", batch.size(), delay, e);
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    private void flush(List<GradedAttempt> batch) {
+        tx.executeWithoutResult(status -> {
+            List<GradedAttempt> stored = new ArrayList<>(batch.size());
+            for (GradedAttempt attempt : batch) {
+                stored.add(attempt.withAttemptId(store(entityManager, attempt).getId()));
+            }
+            entityManager.createNativeQuery(UPSERT_CHECKPOINT)
+                    .setParameter(1, attemptLog.id())
+                    .setParameter(2, batch.get(batch.size() - 1).seq())
+                    .executeUpdate();
+            events.publishEvent(new AttemptsRecordedEvent(stored, topicsOf(entityManager, stored)));
+        });
+    }
+
+    /** Topic of each attempt's quiz; quizzes are in the second-level cache, so this rarely queries. */
+    static Map<Long, Long> topicsOf(EntityManager entityManager, List<GradedAttempt> attempts) {
+        Map<Long, Long> topics = new HashMap<>();
+        for (GradedAttempt attempt : attempts) {
+            if (!topics.containsKey(attempt.quizId())) {
+                Quiz quiz = entityManager.find(Quiz.class, attempt.quizId());
+                topics.put(attempt.quizId(), quiz == null ? null : quiz.getTopicId());
+            }
+        }
+        return topics;
+    }
+
+    /** Persists the attempt row and its answer rows; inserts go out in JDBC batches at flush. */
+    static QuizAttempt store(EntityManager entityManager, GradedAttempt graded) {
+        QuizAttempt attempt = new QuizAttempt(graded.userId(), graded.quizId(), graded.score(), graded.total());
+        attempt.setTimestamp(graded.timestamp());
+        entityManager.persist(attempt);
+        for (int i = 0; i < graded.total(); i++) {
+            byte chosen = graded.chosen()[i];
+            entityManager.persist(new AttemptAnswer(attempt.getId(), i, graded.questionIds()[i],
+                    chosen == QuizGrader.UNANSWERED ? null : chosen, graded.correct()[i]));
+        }
+        return attempt;
+    }
+
+    // ===============================
+    // STATS
+    // ===============================
+
+    public record Stats(boolean enabled, boolean running, int buffered, int bufferSize, long lastSeq,
+                        long committedSeq, long flushedBatches, long flushedAttempts, long failedFlushes,
+                        long rejected) {}
+
+    public Stats stats() {
+        return new Stats(enabled, running, buffer.size(), bufferSize,
+                attemptLog == null ? 0 : attemptLog.lastSeq(), committedSeq,
+                flushedBatches.get(), flushedAttempts.get(), failedFlushes.get(), rejected.get());
+    }
+}
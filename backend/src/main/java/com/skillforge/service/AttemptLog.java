@@ -0,0 +1,356 @@
+package com.skillforge.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only local log of graded attempts that are not yet in the database.
+ *
+ * Records go to segment files named after their first sequence number, each framed as
+ * [length][crc32][payload]; a torn record at the end of the last segment (crash mid
+ * write) is cut off when the log is reopened. Concurrent appenders share one fsync:
+ * whoever forces the file covers every record written before it (group commit).
+ * Segments are deleted once all their records are stored in the database.
+ *
+ * A record that could not be written is never handed to the consumer. Once it is
+ * written and handed over, the consumer owns it: a failed fsync is logged, not thrown,
+ * and the next successful fsync covers the record.
+ */
+final class AttemptLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(AttemptLog.class);
+
+    private static final String ID_FILE = "log.id";
+    private static final String PREFIX = "attempts-";
+    private static final String SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;          // length + crc
+    private static final int FIXED_BYTES = 44;          // seq, user, quiz, score, timestamp, count
+    private static final int ANSWER_BYTES = 10;         // question id, chosen, correct
+
+    /** Opens segment files; tests substitute channels that fail on demand. */
+    interface Segments {
+        FileChannel open(Path file) throws IOException;
+    }
+
+    private static final Segments FILES = file -> FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+    private final Path dir;
+    private final String id;
+    private final long segmentBytes;
+    private final boolean fsync;
+    private final Segments files;
+
+    private final Object writeLock = new Object();
+    private final Object syncLock = new Object();
+    private final TreeMap<Long, Path> segments = new TreeMap<>();   // first seq -> file
+    private FileChannel active;
+    private long activeBytes;
+    private long nextSeq = 1;
+    private long written;                 // bytes appended since open, across segments
+    private volatile long synced;
+
+    private AttemptLog(Path dir, String id, long segmentBytes, boolean fsync, Segments files) {
+        this.dir = dir;
+        this.id = id;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        this.files = files;
+    }
+
+    /** Opens (or creates) the log in dir. Call replay() before appending. */
+    static AttemptLog open(Path dir, long segmentBytes, boolean fsync) throws IOException {
+        return open(dir, segmentBytes, fsync, FILES);
+    }
+
+    static AttemptLog open(Path dir, long segmentBytes, boolean fsync, Segments files) throws IOException {
+        Files.createDirectories(dir);
+        Path idFile = dir.resolve(ID_FILE);
+        if (!Files.exists(idFile)) {
+            Files.writeString(idFile, UUID.randomUUID().toString(), StandardCharsets.US_ASCII);
+        }
+        String id = Files.readString(idFile, StandardCharsets.US_ASCII).trim();
+        return new AttemptLog(dir, id, segmentBytes, fsync, files);
+    }
+
+    /** Identifies this log in the checkpoint table, so several nodes can share a database. */
+    String id() {
+        return id;
+    }
+
+    /**
+     * Reads back every record after the checkpoint and starts a fresh segment for new
+     * appends. Sequence numbers continue above both the log and the checkpoint.
+     */
+    List<GradedAttempt> replay(long checkpoint) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.startsWith(PREFIX) && name.endsWith(SUFFIX)) {
+                    segments.put(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())), file);
+                }
+            });
+        }
+        List<GradedAttempt> pending = new ArrayList<>();
+        long lastSeq = checkpoint;
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            boolean last = segment.getKey().equals(segments.lastKey());
+            for (GradedAttempt attempt : read(segment.getValue(), last)) {
+                lastSeq = Math.max(lastSeq, attempt.seq());
+                if (attempt.seq() > checkpoint) {
+                    pending.add(attempt);
+                }
+            }
+        }
+        synchronized (writeLock) {
+            nextSeq = lastSeq + 1;
+            roll();
+        }
+        release(checkpoint);
+        return pending;
+    }
+
+    /**
+     * Appends the attempt under the next sequence number and returns once it is on disk.
+     * enqueue runs inside the write lock, so consumers see attempts in sequence order.
+     * Throws only when the record was not written; enqueue has not run then.
+     */
+    GradedAttempt append(GradedAttempt draft, Consumer<GradedAttempt> enqueue) throws IOException {
+        GradedAttempt attempt;
+        long end;
+        synchronized (writeLock) {
+            if (active == null) {
+                roll();     // a failed write could not open a fresh segment last time
+            }
+            attempt = draft.withSeq(nextSeq);
+            ByteBuffer record = encode(attempt);
+            try {
+                while (record.hasRemaining()) {
+                    active.write(record);
+                }
+            } catch (IOException e) {
+                discardPartial(e);
+                throw e;
+            }
+            nextSeq++;
+            activeBytes += record.limit();
+            written += record.limit();
+            end = written;
+            enqueue.accept(attempt);
+            if (activeBytes >= segmentBytes) {
+                try {
+                    roll();
+                } catch (IOException e) {
+                    // The next append retries; this record is written and queued either way
+                    log.warn("Could not start a new attempt log segment", e);
+                }
+            }
+        }
+        try {
+            sync(end);
+        } catch (IOException e) {
+            // Already queued, so it will be stored; failing here would make the client retry a duplicate
+            log.warn("Attempt log fsync failed; attempt {} is queued but not yet durable", attempt.seq(), e);
+        }
+        return attempt;
+    }
+
+    /** Deletes segments whose records are all at or below the committed sequence. */
+    void release(long committedSeq) {
+        List<Path> done = new ArrayList<>();
+        synchronized (writeLock) {
+            Long first = segments.firstKey();
+            while (first != null && !first.equals(segments.lastKey())) {
+                Long next = segments.higherKey(first);
+                if (next - 1 > committedSeq) {
+                    break;
+                }
+                done.add(segments.remove(first));
+                first = next;
+            }
+        }
+        for (Path file : done) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete attempt log segment {}", file, e);
+            }
+        }
+    }
+
+    long lastSeq() {
+        synchronized (writeLock) {
+            return nextSeq - 1;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            if (active != null) {
+                active.force(false);
+                active.close();
+            }
+        }
+    }
+
+    // ===============================
+    // FILES
+    // ===============================
+
+    // Caller holds writeLock
+    private void roll() throws IOException {
+        if (active != null) {
+            // Records of the old segment must be durable before its channel goes away
+            active.force(false);
+            active.close();
+            active = null;
+        }
+        Path file = dir.resolve(String.format("%s%020d%s", PREFIX, nextSeq, SUFFIX));
+        active = files.open(file);
+        activeBytes = 0;
+        segments.put(nextSeq, file);
+    }
+
+    /**
+     * Removes a half-written record. Left in place, it would make replay() stop there
+     * and cut off every record appended (and acknowledged) after it. Caller holds writeLock.
+     */
+    private void discardPartial(IOException cause) {
+        try {
+            active.truncate(activeBytes);
+            active.position(activeBytes);
+        } catch (IOException truncateFailed) {
+            cause.addSuppressed(truncateFailed);
+            // Continue in a fresh segment: the torn tail then only costs itself on replay
+            try {
+                active.close();
+            } catch (IOException closeFailed) {
+                cause.addSuppressed(closeFailed);
+            }
+            active = null;
+            try {
+                roll();
+            } catch (IOException rollFailed) {
+                cause.addSuppressed(rollFailed);
+            }
+        }
+    }
+
+    private void sync(long end) throws IOException {
+        if (!fsync || synced >= end) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= end) {
+                return;     // forced by another appender meanwhile
+            }
+            long target;
+            FileChannel channel;
+            synchronized (writeLock) {
+                target = written;
+                channel = active;
+            }
+            try {
+                if (channel != null) {      // null only after roll() forced and closed the old one
+                    channel.force(false);
+                }
+            } catch (ClosedChannelException e) {
+                // Rolled meanwhile: roll() forced everything up to target before closing
+            }
+            synced = target;
+        }
+    }
+
+    private List<GradedAttempt> read(Path file, boolean last) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        List<GradedAttempt> attempts = new ArrayList<>();
+        while (data.remaining() >= HEADER_BYTES) {
+            int start = data.position();
+            int length = data.getInt();
+            int crc = data.getInt();
+            if (length < FIXED_BYTES || length > data.remaining() || crc != crc(data, data.position(), length)) {
+                data.position(start);
+                break;
+            }
+            attempts.add(decode(data.slice(data.position(), length)));
+            data.position(data.position() + length);
+        }
+        if (data.hasRemaining()) {
+            if (last) {
+                log.warn("Attempt log {}: dropping {} bytes of an incomplete record", file, data.remaining());
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(data.position());
+                }
+            } else {
+                log.error("Attempt log {}: corrupt record at byte {}, rest of the segment skipped", file, data.position());
+            }
+        }
+        return attempts;
+    }
+
+    // ===============================
+    // FORMAT
+    // ===============================
+
+    private static ByteBuffer encode(GradedAttempt attempt) {
+        int count = attempt.total();
+        int length = FIXED_BYTES + count * ANSWER_BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + length);
+        buffer.position(HEADER_BYTES);
+        buffer.putLong(attempt.seq());
+        buffer.putLong(attempt.userId());
+        buffer.putLong(attempt.quizId());
+        buffer.putInt(attempt.score());
+        buffer.putLong(attempt.timestamp().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(attempt.timestamp().getNano());
+        buffer.putInt(count);
+        for (int i = 0; i < count; i++) {
+            buffer.putLong(attempt.questionIds()[i]);
+            buffer.put(attempt.chosen()[i]);
+            buffer.put((byte) (attempt.correct()[i] ? 1 : 0));
+        }
+        buffer.putInt(0, length);
+        buffer.putInt(4, crc(buffer, HEADER_BYTES, length));
+        buffer.rewind();
+        return buffer;
+    }
+
+    private static GradedAttempt decode(ByteBuffer payload) {
+        long seq = payload.getLong();
+        long userId = payload.getLong();
+        long quizId = payload.getLong();
+        int score = payload.getInt();
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(payload.getLong(), payload.getInt(), ZoneOffset.UTC);
+        int count = payload.getInt();
+        long[] questionIds = new long[count];
+        byte[] chosen = new byte[count];
+        boolean[] correct = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            questionIds[i] = payload.getLong();
+            chosen[i] = payload.get();
+            correct[i] = payload.get() == 1;
+        }
+        return new GradedAttempt(seq, null, userId, quizId, score, timestamp, questionIds, chosen, correct);
+    }
+
+    private static int crc(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+}
@@ -1,9 +1,21 @@
 package com.skillforge.service;
 
+import com.skillforge.event.CatalogChangedEvent;
+import com.skillforge.event.MaterialFilesReleasedEvent;
 import com.skillforge.model.Course;
 import com.skillforge.model.User;
+import com.skillforge.repository.BankQuestionRepository;
 import com.skillforge.repository.CourseRepository;
+import com.skillforge.repository.MaterialRepository;
+import com.skillforge.repository.QuizBlueprintRepository;
+import com.skillforge.repository.QuizRepository;
+import com.skillforge.repository.SubjectRepository;
+import com.skillforge.repository.TopicContentRepository;
+import com.skillforge.repository.TopicRepository;
 import com.skillforge.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,12 +24,39 @@ import java.util.List;
 @Service
 public class CourseService {
 
+    private static final Logger log = LoggerFactory.getLogger(CourseService.class);
+
     private final CourseRepository repo;
     private final UserRepository userRepository;
+    private final SubjectRepository subjectRepository;
+    private final TopicRepository topicRepository;
+    private final TopicContentRepository topicContentRepository;
+    private final QuizRepository quizRepository;
+    private final MaterialRepository materialRepository;
+    private final QuizBlueprintRepository blueprintRepository;
+    private final BankQuestionRepository bankQuestionRepository;
+    private final ApplicationEventPublisher events;
 
-    public CourseService(CourseRepository repo, UserRepository userRepository) {
+    public CourseService(CourseRepository repo,
+                         UserRepository userRepository,
+                         SubjectRepository subjectRepository,
+                         TopicRepository topicRepository,
+                         TopicContentRepository topicContentRepository,
+                         QuizRepository quizRepository,
+                         MaterialRepository materialRepository,
+                         QuizBlueprintRepository blueprintRepository,
+                         BankQuestionRepository bankQuestionRepository,
+                         ApplicationEventPublisher events) {
         this.repo = repo;
         this.userRepository = userRepository;
+        this.subjectRepository = subjectRepository;
+        this.topicRepository = topicRepository;
+        this.topicContentRepository = topicContentRepository;
+        this.quizRepository = quizRepository;
+        this.materialRepository = materialRepository;
+        this.blueprintRepository = blueprintRepository;
+        this.bankQuestionRepository = bankQuestionRepository;
+        this.events = events;
     }
 
     /**
@@ -30,24 +69,37 @@ public class CourseService {
                     .orElseThrow(() -> new RuntimeException("Instructor not found"));
             course.setInstructor(instructor);
         }
-        return repo.save(course);
-    }
-
-    public List<Course> listAll() {
-        return repo.findAll();
-    }
-
-    public List<Course> getCoursesByInstructor(Long instructorId) {
-        return repo.findByInstructor_Id(instructorId);
+        Course saved = repo.save(course);
+        events.publishEvent(CatalogChangedEvent.course(saved.getId(), false));
+        return saved;
     }
 
+    /**
+     * Set-based cascade: one DELETE per level (questions, blueprints, quizzes, materials,
+     * bank questions, topic contents, topics, subjects, course) instead of loading the whole graph and removing it row by row.
+     * Quiz attempts are kept as the users' history. Material files are removed
+     * in the background once the transaction commits.
+     */
     @Transactional
     public void delete(Long id) {
-        repo.deleteById(id);
-    }
+        if (!repo.existsById(id)) {
+            throw new RuntimeException("Course not found");
+        }
+        List<String> filePaths = materialRepository.findFilePathsByCourseId(id);
+
+        int questions = quizRepository.bulkDeleteQuestionsByCourseId(id);
+        blueprintRepository.bulkDeleteByCourseId(id);
+        int quizzes = quizRepository.bulkDeleteByCourseId(id);
+        int materials = materialRepository.bulkDeleteByCourseId(id);
+        bankQuestionRepository.bulkDeleteByCourseId(id);
+        topicContentRepository.bulkDeleteByCourseId(id);
+        int topics = topicRepository.bulkDeleteByCourseId(id);
+        int subjects = subjectRepository.bulkDeleteByCourseId(id);
+        repo.bulkDeleteById(id);
+        log.debug("Deleted course {}: {} subjects, {} topics, {} materials, {} quizzes, {} questions",
+                id, subjects, topics, materials, quizzes, questions);
 
-    public Course getById(Long id) {
-        return repo.findById(id)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
+        events.publishEvent(CatalogChangedEvent.course(id, true));
+        events.publishEvent(new MaterialFilesReleasedEvent(filePaths));
     }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.skillforge.service;
+
+import com.skillforge.dto.CourseTreeDTO;
+import com.skillforge.model.Course;
+import com.skillforge.model.Material;
+import com.skillforge.model.Quiz;
+import com.skillforge.model.Subject;
+import com.skillforge.model.Topic;
+import com.skillforge.repository.CourseRepository;
+import com.skillforge.repository.MaterialRepository;
+import com.skillforge.repository.QuizRepository;
+import com.skillforge.repository.SubjectRepository;
+import com.skillforge.repository.TopicRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Builds the full course tree with one query per level (5 statements max),
+ * independent of how many subjects, topics, materials or quizzes exist.
+ * The levels are stitched together in memory by parent id.
+ */
+@Service
+public class CourseTreeService {
+
+    private final CourseRepository courseRepository;
+    private final SubjectRepository subjectRepository;
+    private final TopicRepository topicRepository;
+    private final MaterialRepository materialRepository;
+    private final QuizRepository quizRepository;
+
+    public CourseTreeService(CourseRepository courseRepository,
+                             SubjectRepository subjectRepository,
+                             TopicRepository topicRepository,
+                             MaterialRepository materialRepository,
+                             QuizRepository quizRepository) {
+        this.courseRepository = courseRepository;
+        this.subjectRepository = subjectRepository;
+        this.topicRepository = topicRepository;
+        this.materialRepository = materialRepository;
+        this.quizRepository = quizRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CourseTreeDTO> getTree(Long courseId) {
+        Optional<Course> courseOpt = courseRepository.findWithInstructorById(courseId);
+        if (courseOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        CourseTreeDTO tree = toNode(courseOpt.get());
+
+        // Level 2: subjects (+ instructor)
+        Map<Long, CourseTreeDTO.SubjectNode> subjects = new LinkedHashMap<>();
+        for (Subject subject : subjectRepository.findWithInstructorByCourseId(courseId)) {
+            CourseTreeDTO.SubjectNode node = toNode(subject);
+            subjects.put(subject.getId(), node);
+            tree.getSubjects().add(node);
+        }
+        if (subjects.isEmpty()) {
+            return Optional.of(tree);
+        }
+
+        // Level 3: topics of all subjects
+        Map<Long, CourseTreeDTO.TopicNode> topics = new HashMap<>();
+        for (Topic topic : topicRepository.findBySubject_IdInOrderByIdAsc(subjects.keySet())) {
+            // getSubject().getId() reads the FK from the proxy without loading the subject
+            CourseTreeDTO.SubjectNode parent = subjects.get(topic.getSubject().getId());
+            CourseTreeDTO.TopicNode node = toNode(topic);
+            topics.put(topic.getId(), node);
+            parent.getTopics().add(node);
+        }
+        if (topics.isEmpty()) {
+            return Optional.of(tree);
+        }
+
+        // Level 4: materials and quizzes of all topics
+        for (Material material : materialRepository.findByTopicIdInOrderByIdAsc(topics.keySet())) {
+            topics.get(material.getTopicId()).getMaterials().add(toNode(material));
+        }
+        for (Quiz quiz : quizRepository.findByTopicIdInOrderByIdAsc(topics.keySet())) {
+            topics.get(quiz.getTopicId()).getQuizzes().add(toNode(quiz));
+        }
+        return Optional.of(tree);
+    }
+
+    // ===============================
+    // ENTITY → NODE
+    // ===============================
+    private CourseTreeDTO toNode(Course course) {
+        CourseTreeDTO node = new CourseTreeDTO();
+        node.setId(course.getId());
+        node.setTitle(course.getTitle());
+        node.setDescription(course.getDescription());
+        node.setDifficulty(course.getDifficulty());
+        node.setDuration(course.getDuration());
+        node.setCreatedAt(course.getCreatedAt());
+        if (course.getInstructor() != null) {
+            node.setInstructorId(course.getInstructor().getId());
+            node.setInstructorName(course.getInstructor().getName());
+        }
+        return node;
+    }
+
+    private CourseTreeDTO.SubjectNode toNode(Subject subject) {
+        CourseTreeDTO.SubjectNode node = new CourseTreeDTO.SubjectNode();
+        node.setId(subject.getId());
+        node.setName(subject.getName());
+        node.setDescription(subject.getDescription());
+        node.setCreatedAt(subject.getCreatedAt());
+        if (subject.getInstructor() != null) {
+            node.setInstructorId(subject.getInstructor().getId());
+            node.setInstructorName(subject.getInstructor().getName());
+        }
+        return node;
+    }
+
+    private CourseTreeDTO.TopicNode toNode(Topic topic) {
+        CourseTreeDTO.TopicNode node = new CourseTreeDTO.TopicNode();
+        node.setId(topic.getId());
+        node.setName(topic.getName());
+        node.setType(topic.getType());
+        return node;
+    }
+
+    private CourseTreeDTO.MaterialNode toNode(Material material) {
+        CourseTreeDTO.MaterialNode node = new CourseTreeDTO.MaterialNode();
+        node.setId(material.getId());
+        node.setTitle(material.getTitle());
+        node.setType(material.getType());
+        node.setFilePath(material.getFilePath());
+        node.setLink(material.getLink());
+        node.setFileType(material.getFileType());
+        node.setUploadedAt(material.getUploadedAt());
+        return node;
+    }
+
+    private CourseTreeDTO.QuizNode toNode(Quiz quiz) {
+        CourseTreeDTO.QuizNode node = new CourseTreeDTO.QuizNode();
+        node.setId(quiz.getId());
+        node.setDisplayId(quiz.getDisplayId());
+        node.setTitle(quiz.getTitle());
+        node.setCreatedAt(quiz.getCreatedAt());
+        return node;
+    }
+}
@@ -0,0 +1,52 @@
+package com.skillforge.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A graded submission as it is logged and stored: one QuizAttempt row plus one
+ * AttemptAnswer row per question. seq is the position in the attempt log (0 when
+ * written directly); attemptId is null until the rows are stored.
+ */
+public record GradedAttempt(
+        long seq,
+        Long attemptId,
+        long userId,
+        long quizId,
+        int score,
+        LocalDateTime timestamp,
+        long[] questionIds,
+        byte[] chosen,
+        boolean[] correct
+) {
+
+    static GradedAttempt of(long userId, long quizId, QuizGrader.AnswerKey key, QuizGrader.Grade grade) {
+        long[] questionIds = new long[key.size()];
+        for (int i = 0; i < questionIds.length; i++) {
+            questionIds[i] = key.questionId(i);
+        }
+        return new GradedAttempt(0, null, userId, quizId, grade.score(), LocalDateTime.now(),
+                questionIds, grade.chosen(), grade.correct());
+    }
+
+    GradedAttempt withSeq(long seq) {
+        return new GradedAttempt(seq, attemptId, userId, quizId, score, timestamp, questionIds, chosen, correct);
+    }
+
+    GradedAttempt withAttemptId(Long attemptId) {
+        return new GradedAttempt(seq, attemptId, userId, quizId, score, timestamp, questionIds, chosen, correct);
+    }
+
+    public int total() {
+        return questionIds.length;
+    }
+
+    public List<Boolean> correctList() {
+        List<Boolean> list = new ArrayList<>(correct.length);
+        for (boolean c : correct) {
+            list.add(c);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,91 @@
+package com.skillforge.service;
+
+import com.skillforge.cache.CatalogCache;
+import com.skillforge.dto.CourseStats;
+import com.skillforge.dto.IdCount;
+import com.skillforge.dto.InstructorSummary;
+import com.skillforge.dto.QuizActivity;
+import com.skillforge.repository.CourseRepository;
+import com.skillforge.repository.MaterialRepository;
+import com.skillforge.repository.QuizAttemptRepository;
+import com.skillforge.repository.UserRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Instructor dashboard numbers, computed with grouped aggregates (five statements
+ * whatever the catalog size) and cached briefly per instructor. Catalog writes drop
+ * the cached summaries; new attempts show up when the entry expires.
+ */
+@Service
+public class InstructorSummaryService {
+
+    private static final int RECENT_ATTEMPTS = 10;
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final MaterialRepository materialRepository;
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final CatalogCache cache;
+
+    public InstructorSummaryService(UserRepository userRepository,
+                                    CourseRepository courseRepository,
+                                    MaterialRepository materialRepository,
+                                    QuizAttemptRepository quizAttemptRepository,
+                                    CatalogCache cache) {
+        this.userRepository = userRepository;
+        this.courseRepository = courseRepository;
+        this.materialRepository = materialRepository;
+        this.quizAttemptRepository = quizAttemptRepository;
+        this.cache = cache;
+    }
+
+    /** Empty when the id is not an instructor. */
+    @Transactional(readOnly = true)
+    public Optional<InstructorSummary> getSummary(Long instructorId) {
+        return Optional.ofNullable(cache.get(CatalogCache.Region.INSTRUCTOR_SUMMARY, instructorId,
+                () -> userRepository.findInstructorIdsByIdIn(List.of(instructorId)).isEmpty()
+                        ? null
+                        : compute(instructorId)));
+    }
+
+    private InstructorSummary compute(Long instructorId) {
+        Map<Long, Long> materialsByCourse = new HashMap<>();
+        for (IdCount row : materialRepository.countByCourseForInstructor(instructorId)) {
+            materialsByCourse.put(row.id(), row.count());
+        }
+        Map<Long, QuizActivity> activityByCourse = new HashMap<>();
+        for (QuizActivity row : quizAttemptRepository.findActivityByCourseForInstructor(instructorId)) {
+            activityByCourse.put(row.courseId(), row);
+        }
+
+        List<CourseStats> courses = courseRepository.findStatsByInstructorId(instructorId).stream()
+                .map(course -> course.with(materialsByCourse, activityByCourse))
+                .toList();
+
+        long subjects = 0, topics = 0, materials = 0, quizzes = 0, attempts = 0;
+        double scoreSum = 0;
+        for (CourseStats course : courses) {
+            subjects += course.subjects();
+            topics += course.topics();
+            materials += course.materials();
+            quizzes += course.quizzes();
+            attempts += course.attempts();
+            if (course.averageScore() != null) {
+                scoreSum += course.averageScore() * course.attempts();
+            }
+        }
+        // Weighting each course average by its attempts gives the average over all attempts
+        InstructorSummary.Totals totals = new InstructorSummary.Totals(courses.size(), subjects, topics,
+                materials, quizzes, attempts, quizAttemptRepository.countStudentsForInstructor(instructorId),
+                attempts == 0 ? null : scoreSum / attempts);
+
+        return new InstructorSummary(instructorId, totals, courses,
+                quizAttemptRepository.findRecentForInstructor(instructorId, Limit.of(RECENT_ATTEMPTS)),
+                LocalDateTime.now());
+    }
+}
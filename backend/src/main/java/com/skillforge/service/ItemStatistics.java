@@ -0,0 +1,276 @@
+package com.skillforge.service;
+
+import com.skillforge.dto.ItemAnalysis;
+import com.skillforge.dto.ItemStats;
+import com.skillforge.dto.ItemTotals;
+import com.skillforge.event.AttemptsRecordedEvent;
+import com.skillforge.event.CatalogChangedEvent;
+import com.skillforge.event.QuizChangedEvent;
+import com.skillforge.repository.QuizAttemptRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live item analysis per quiz question: difficulty (p-value), discrimination (point-
+ * biserial against the rest score) and option distribution.
+ *
+ * Counters for a quiz are loaded with one grouped query over quiz_attempt_answers the
+ * first time it is asked for, then advanced by every AttemptsRecordedEvent: a few
+ * primitive additions per answer, no allocation. Sums are kept rather than ratios, so
+ * each statistic is exact and computed only when read.
+ *
+ * A blueprint quiz has no questions of its own: its answers hold bank question ids and
+ * every student gets a different draw. Its counters cover the blueprint's frozen
+ * candidates instead, each counted over the attempts that were given it.
+ */
+@Component
+public class ItemStatistics {
+
+    private static final String[] OPTION_NAMES = { "A", "B", "C", "D", "none" };
+    private static final int SLOTS = OPTION_NAMES.length;
+    private static final int NONE = SLOTS - 1;
+
+    private final QuizGrader quizGrader;
+    private final QuestionBank questionBank;
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final TransactionTemplate tx;
+
+    private final Map<Long, Counters> quizzes = new ConcurrentHashMap<>();
+
+    public ItemStatistics(QuizGrader quizGrader,
+                          QuestionBank questionBank,
+                          QuizAttemptRepository quizAttemptRepository,
+                          PlatformTransactionManager transactionManager) {
+        this.quizGrader = quizGrader;
+        this.questionBank = questionBank;
+        this.quizAttemptRepository = quizAttemptRepository;
+        // Read-write on purpose: the load must see the primary, not a lagging replica
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Statistics of every question of the quiz, or of every candidate of a blueprint;
+     * empty when there are none.
+     */
+    public Optional<ItemAnalysis> analyze(Long quizId) {
+        Counters counters = quizzes.get(quizId);
+        if (counters == null) {
+            boolean blueprint = questionBank.isBlueprint(quizId);
+            long[] questionIds = blueprint
+                    ? questionBank.candidateIds(quizId).orElse(new long[0])
+                    : quizGrader.answerKey(quizId).map(ItemStatistics::questionIds).orElse(new long[0]);
+            if (questionIds.length == 0) {
+                return Optional.empty();
+            }
+            counters = quizzes.computeIfAbsent(quizId, id -> new Counters(id, questionIds, blueprint));
+        }
+        load(counters);
+        synchronized (counters) {
+            return Optional.of(counters.snapshot(quizId));
+        }
+    }
+
+    // ===============================
+    // UPDATES
+    // ===============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttemptsRecorded(AttemptsRecordedEvent event) {
+        for (GradedAttempt attempt : event.attempts()) {
+            Counters counters = quizzes.get(attempt.quizId());
+            if (counters == null) {
+                continue;       // nobody has looked at this quiz yet: the first load reads it
+            }
+            synchronized (counters) {
+                if (counters.pending != null) {
+                    counters.pending.add(attempt);
+                } else {
+                    counters.add(attempt);
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        quizzes.remove(event.quizId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.type() == CatalogChangedEvent.Type.COURSE && event.removed()) {
+            quizzes.clear();
+        }
+    }
+
+    /**
+     * Reads the stored sums, then folds in attempts recorded meanwhile. Those that the
+     * query already counted are recognised by id, checked in the same transaction.
+     */
+    private void load(Counters counters) {
+        synchronized (counters.loadLock) {
+            if (counters.isLoaded()) {
+                return;
+            }
+            tx.executeWithoutResult(status -> {
+                List<ItemTotals> rows = quizAttemptRepository.findItemTotals(counters.quizId, counters.questionIdList());
+                long attempts = quizAttemptRepository.countByQuizId(counters.quizId);
+                synchronized (counters) {
+                    Set<Long> counted = new HashSet<>();
+                    List<Long> pendingIds = counters.pending.stream().map(GradedAttempt::attemptId).toList();
+                    if (!pendingIds.isEmpty()) {
+                        counted.addAll(quizAttemptRepository.findExistingIds(pendingIds));
+                    }
+                    rows.forEach(counters::set);
+                    counters.attempts = attempts;
+                    for (GradedAttempt attempt : counters.pending) {
+                        if (!counted.contains(attempt.attemptId())) {
+                            counters.add(attempt);
+                        }
+                    }
+                    counters.pending = null;
+                }
+            });
+        }
+    }
+
+    private static long[] questionIds(QuizGrader.AnswerKey key) {
+        long[] ids = new long[key.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = key.questionId(i);
+        }
+        return ids;
+    }
+
+    // ===============================
+    // COUNTERS
+    // ===============================
+
+    /**
+     * Sums per question, indexed by position in the answer key or, for a blueprint, in
+     * the ascending candidate ids. Guarded by its own monitor.
+     */
+    private static final class Counters {
+        final Object loadLock = new Object();
+        final Long quizId;
+        final long[] questionIds;
+        final boolean sorted;               // blueprint: positions differ per student, found by binary search
+        long attempts;
+        final long[] answered;
+        final long[] correct;
+        final long[] restSum;
+        final long[] restSquares;
+        final long[] correctRestSum;
+        final long[] options;               // SLOTS per question
+        List<GradedAttempt> pending = new ArrayList<>();   // attempts seen before the load finished
+
+        Counters(Long quizId, long[] questionIds, boolean sorted) {
+            this.quizId = quizId;
+            this.questionIds = questionIds;
+            this.sorted = sorted;
+            int n = questionIds.length;
+            answered = new long[n];
+            correct = new long[n];
+            restSum = new long[n];
+            restSquares = new long[n];
+            correctRestSum = new long[n];
+            options = new long[n * SLOTS];
+        }
+
+        boolean isLoaded() {
+            synchronized (this) {
+                return pending == null;
+            }
+        }
+
+        List<Long> questionIdList() {
+            return Arrays.stream(questionIds).boxed().toList();
+        }
+
+        void add(GradedAttempt attempt) {
+            attempts++;
+            long[] ids = attempt.questionIds();
+            for (int i = 0; i < ids.length; i++) {
+                int q = indexOf(ids[i], i);
+                if (q < 0) {
+                    continue;   // graded against an older version of the quiz
+                }
+                int x = attempt.correct()[i] ? 1 : 0;
+                long rest = attempt.score() - x;
+                answered[q]++;
+                correct[q] += x;
+                restSum[q] += rest;
+                restSquares[q] += rest * rest;
+                correctRestSum[q] += x * rest;
+                byte chosen = attempt.chosen()[i];
+                options[q * SLOTS + (chosen == QuizGrader.UNANSWERED ? NONE : chosen)]++;
+            }
+        }
+
+        void set(ItemTotals row) {
+            int q = indexOf(row.questionId(), 0);
+            if (q < 0) {
+                return;
+            }
+            answered[q] = row.answered();
+            correct[q] = row.correct();
+            restSum[q] = row.restSum();
+            restSquares[q] = row.restSquares();
+            correctRestSum[q] = row.correctRestSum();
+            options[q * SLOTS] = row.chosenA();
+            options[q * SLOTS + 1] = row.chosenB();
+            options[q * SLOTS + 2] = row.chosenC();
+            options[q * SLOTS + 3] = row.chosenD();
+            options[q * SLOTS + NONE] = row.unanswered();
+        }
+
+        // Fixed quiz: same position as at grading time unless the quiz was edited since
+        private int indexOf(long questionId, int hint) {
+            if (hint < questionIds.length && questionIds[hint] == questionId) {
+                return hint;
+            }
+            if (sorted) {
+                int found = Arrays.binarySearch(questionIds, questionId);
+                return found < 0 ? -1 : found;
+            }
+            for (int i = 0; i < questionIds.length; i++) {
+                if (questionIds[i] == questionId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        ItemAnalysis snapshot(Long quizId) {
+            List<ItemStats> items = new ArrayList<>(questionIds.length);
+            for (int q = 0; q < questionIds.length; q++) {
+                long n = answered[q];
+                Map<String, Long> picks = new LinkedHashMap<>();
+                for (int o = 0; o < SLOTS; o++) {
+                    picks.put(OPTION_NAMES[o], options[q * SLOTS + o]);
+                }
+                items.add(new ItemStats(questionIds[q], q, n, correct[q],
+                        n == 0 ? null : (double) correct[q] / n, discrimination(q), picks));
+            }
+            return new ItemAnalysis(quizId, attempts, items);
+        }
+
+        // Point-biserial r from running sums; x = correct (0/1), y = rest score
+        private Double discrimination(int q) {
+            double n = answered[q];
+            double sx = correct[q];
+            double sy = restSum[q];
+            double varX = n * sx - sx * sx;
+            double varY = n * restSquares[q] - sy * sy;
+            if (varX <= 0 || varY <= 0) {
+                return null;
+            }
+            return (n * correctRestSum[q] - sx * sy) / Math.sqrt(varX * varY);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.skillforge.service;
+
+import com.skillforge.event.MaterialFilesReleasedEvent;
+import com.skillforge.repository.MaterialRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Deletes uploaded material files whose rows are gone.
+ *
+ * Runs after commit (a rolled back delete keeps its files) on a single background
+ * thread, so a large course delete does not wait on the filesystem. A path that is
+ * still referenced by another material row is left alone.
+ */
+@Component
+public class MaterialFileCleaner {
+
+    private static final Logger log = LoggerFactory.getLogger(MaterialFileCleaner.class);
+
+    // One IN query per chunk when checking for remaining references
+    private static final int CHUNK_SIZE = 500;
+
+    private final MaterialRepository materialRepository;
+    private final Path uploadDir;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "material-file-cleaner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MaterialFileCleaner(MaterialRepository materialRepository,
+                               @Value("${file.upload-dir:uploads}") String uploadDir) {
+        this.materialRepository = materialRepository;
+        this.uploadDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    @TransactionalEventListener
+    public void onFilesReleased(MaterialFilesReleasedEvent event) {
+        if (!event.filePaths().isEmpty()) {
+            worker.execute(() -> clean(event.filePaths()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdown();
+    }
+
+    private void clean(List<String> filePaths) {
+        List<String> paths = new ArrayList<>(new LinkedHashSet<>(filePaths));
+        int deleted = 0;
+        for (int from = 0; from < paths.size(); from += CHUNK_SIZE) {
+            List<String> chunk = paths.subList(from, Math.min(from + CHUNK_SIZE, paths.size()));
+            Set<String> stillUsed;
+            try {
+                stillUsed = new HashSet<>(materialRepository.findFilePathsIn(chunk));
+            } catch (RuntimeException e) {
+                log.warn("Could not check {} material files for remaining references, keeping them", chunk.size(), e);
+                continue;
+            }
+            for (String filePath : chunk) {
+                if (!stillUsed.contains(filePath) && delete(filePath)) {
+                    deleted++;
+                }
+            }
+        }
+        log.debug("Removed {} of {} released material files", deleted, paths.size());
+    }
+
+    private boolean delete(String filePath) {
+        Path file = uploadDir.resolve(filePath).normalize();
+        if (!file.startsWith(uploadDir)) {
+            log.warn("Ignoring material file outside the upload directory: {}", filePath);
+            return false;
+        }
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete material file {}", file, e);
+            return false;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.skillforge.service;
 
+import com.skillforge.event.CatalogChangedEvent;
+import com.skillforge.event.MaterialFilesReleasedEvent;
 import com.skillforge.model.Material;
 import com.skillforge.repository.MaterialRepository;
 import com.skillforge.exception.MaterialNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,43 +16,44 @@ import java.util.List;
 public class MaterialService {
 
     private final MaterialRepository materialRepository;
+    private final ApplicationEventPublisher events;
 
-    public MaterialService(MaterialRepository materialRepository) {
+    public MaterialService(MaterialRepository materialRepository, ApplicationEventPublisher events) {
         this.materialRepository = materialRepository;
+        this.events = events;
     }
 
     // CREATE
     public Material save(Material material) {
-        return materialRepository.save(material);
+        Material saved = materialRepository.save(material);
+        events.publishEvent(CatalogChangedEvent.material(saved.getId(), saved.getTopicId(), false));
+        return saved;
     }
 
     // READ
-    public List<Material> findAll() {
-        return materialRepository.findAll();
-    }
-
     public Material findById(Long id) {
         return materialRepository.findById(id)
                 // ✅ Fixes line 34: Converts Long to String for the Exception
                 .orElseThrow(() -> new MaterialNotFoundException("Material not found with id: " + id));
     }
 
-    public List<Material> findByTopicId(Long topicId) {
-        // ✅ Matches the Long type in MaterialRepository
-        return materialRepository.findByTopicId(topicId);
-    }
-
     // UPDATE
     public Material update(Long id, Material details) {
         return materialRepository.findById(id)
                 .map(material -> {
+                    String previousFile = material.getFilePath();
                     material.setTitle(details.getTitle());
                     material.setType(details.getType());
                     material.setLink(details.getLink());
                     material.setFilePath(details.getFilePath());
                     material.setFileType(details.getFileType());
                     material.setTopicId(details.getTopicId());
-                    return materialRepository.save(material);
+                    Material saved = materialRepository.save(material);
+                    events.publishEvent(CatalogChangedEvent.material(saved.getId(), saved.getTopicId(), false));
+                    if (previousFile != null && !previousFile.equals(saved.getFilePath())) {
+                        events.publishEvent(new MaterialFilesReleasedEvent(List.of(previousFile)));
+                    }
+                    return saved;
                 })
                 // ✅ Fixes line 53: Converts Long to String for the Exception
                 .orElseThrow(() -> new MaterialNotFoundException("Could not update. Material not found with id: " + id));
@@ -57,10 +61,13 @@ public class MaterialService {
 
     // DELETE
     public void deleteById(Long id) {
-        if (!materialRepository.existsById(id)) {
-            // ✅ Fixes line 59: Converts Long to String for the Exception
-            throw new MaterialNotFoundException("Could not delete. Material not found with id: " + id);
+        Material material = materialRepository.findById(id)
+                // ✅ Fixes line 59: Converts Long to String for the Exception
+                .orElseThrow(() -> new MaterialNotFoundException("Could not delete. Material not found with id: " + id));
+        materialRepository.delete(material);
+        events.publishEvent(CatalogChangedEvent.material(id, material.getTopicId(), true));
+        if (material.getFilePath() != null) {
+            events.publishEvent(new MaterialFilesReleasedEvent(List.of(material.getFilePath())));
         }
-        materialRepository.deleteById(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.skillforge.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillforge.cache.BoundedCache;
+import com.skillforge.event.CatalogChangedEvent;
+import com.skillforge.event.QuizChangedEvent;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * GET /api/quizzes/public/{displayId} as ready-to-send JSON bytes.
+ *
+ * The quiz is loaded and serialized once (correctOption is write-only, so it is never
+ * in the payload) and cached with an ETag over the bytes; a hit costs no query and no
+ * Jackson work. When a class opens the same quiz at once, concurrent misses wait on
+ * the one load in flight instead of each running it. Entries are dropped after commit
+ * on QuizChangedEvent and on course deletes.
+ */
+@Component
+public class PublicQuizCache {
+
+    /** Serialized quiz and the strong ETag of exactly these bytes. */
+    public record Rendered(Long quizId, byte[] json, String etag) {}
+
+    private final QuizService quizService;
+    private final ObjectMapper objectMapper;
+    private final BoundedCache<String, Rendered> rendered;
+    private final ConcurrentMap<String, CompletableFuture<Rendered>> inFlight = new ConcurrentHashMap<>();
+
+    public PublicQuizCache(QuizService quizService, ObjectMapper objectMapper, Environment env) {
+        this.quizService = quizService;
+        this.objectMapper = objectMapper;
+        // Weighed in bytes; the frequency sketch is sized by entries
+        this.rendered = new BoundedCache<>("public-quizzes",
+                env.getProperty("quiz.public-cache.max-bytes", Long.class, 64L * 1024 * 1024),
+                env.getProperty("quiz.public-cache.expected-entries", Long.class, 4096L),
+                env.getProperty("quiz.public-cache.ttl", Duration.class, Duration.ofHours(1)),
+                entry -> entry.json().length);
+    }
+
+    public Optional<Rendered> get(String displayId) {
+        return Optional.ofNullable(rendered.get(displayId, () -> loadOnce(displayId)));
+    }
+
+    public BoundedCache.Stats stats() {
+        return rendered.stats();
+    }
+
+    // The first caller loads; everyone arriving meanwhile gets the same result (or exception)
+    private Rendered loadOnce(String displayId) {
+        CompletableFuture<Rendered> mine = new CompletableFuture<>();
+        CompletableFuture<Rendered> running = inFlight.putIfAbsent(displayId, mine);
+        if (running != null) {
+            return running.join();
+        }
+        try {
+            Rendered result = render(displayId);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(displayId, mine);
+        }
+    }
+
+    private Rendered render(String displayId) {
+        return quizService.findByDisplayId(displayId)
+                .map(quiz -> {
+                    try {
+                        byte[] json = objectMapper.writeValueAsBytes(quiz);
+                        return new Rendered(quiz.getId(), json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+                    } catch (JsonProcessingException e) {
+                        throw new IllegalStateException("Could not serialize quiz " + displayId, e);
+                    }
+                })
+                .orElse(null);
+    }
+
+    // ===============================
+    // INVALIDATION
+    // ===============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        // A load already in flight may have read the old rows: later callers start a new one
+        inFlight.clear();
+        rendered.invalidateIf(entry -> entry.quizId().equals(event.quizId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.type() == CatalogChangedEvent.Type.COURSE && event.removed()) {
+            inFlight.clear();
+            rendered.invalidateAll();
+        }
+    }
+}
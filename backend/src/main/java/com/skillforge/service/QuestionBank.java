@@ -0,0 +1,336 @@
+package com.skillforge.service;
+
+import com.skillforge.dto.AssembledQuestion;
+import com.skillforge.dto.AssembledQuiz;
+import com.skillforge.dto.BlueprintRow;
+import com.skillforge.event.CatalogChangedEvent;
+import com.skillforge.event.QuestionBankChangedEvent;
+import com.skillforge.event.QuizChangedEvent;
+import com.skillforge.model.BankQuestion;
+import com.skillforge.model.Difficulty;
+import com.skillforge.repository.BankQuestionRepository;
+import com.skillforge.repository.QuizBlueprintRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of the question banks and quiz blueprints, and the per-student
+ * assembly of blueprint quizzes.
+ *
+ * Each topic's bank is held as immutable items by id; each blueprint carries the
+ * candidate ids frozen at its creation. A student's quiz is derived from the blueprint
+ * seed and the user id alone: a SplittableRandom seeded from both picks the questions
+ * (Floyd sampling over the frozen candidates of each difficulty), orders them and
+ * permutes each question's options. The same student therefore always gets the same
+ * quiz, whatever is added to the bank later; nothing is stored per student, and grading
+ * re-derives the assembly instead of reading it back. Only deleting a drawn question
+ * changes a draw. The whole index is replaced copy-on-write after commit on bank,
+ * blueprint and course changes, so readers never lock.
+ */
+@Component
+public class QuestionBank implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(QuestionBank.class);
+
+    private static final String OPTIONS = "ABCD";
+    private static final Difficulty[] LEVELS = Difficulty.values();
+
+    private final BankQuestionRepository bankQuestionRepository;
+    private final QuizBlueprintRepository blueprintRepository;
+
+    private final Object reloadLock = new Object();
+    private volatile Index index = new Index(Map.of(), Map.of(), Map.of());
+
+    public QuestionBank(BankQuestionRepository bankQuestionRepository,
+                        QuizBlueprintRepository blueprintRepository) {
+        this.bankQuestionRepository = bankQuestionRepository;
+        this.blueprintRepository = blueprintRepository;
+    }
+
+    public boolean isBlueprint(Long quizId) {
+        return index.plans().containsKey(quizId);
+    }
+
+    public boolean isBlueprint(String displayId) {
+        return index.quizIds().containsKey(displayId);
+    }
+
+    /**
+     * Every question a student of the blueprint quiz can be given, ascending; empty when
+     * the quiz is not a blueprint. Questions deleted from the bank since are kept, as
+     * attempts may still have answered them.
+     */
+    public Optional<long[]> candidateIds(Long quizId) {
+        Plan plan = index.plans().get(quizId);
+        return plan == null
+                ? Optional.empty()
+                : Optional.of(Arrays.stream(plan.candidates()).flatMapToLong(Arrays::stream).sorted().distinct().toArray());
+    }
+
+    public Optional<Assembly> assemble(String displayId, long userId) {
+        Long quizId = index.quizIds().get(displayId);
+        return quizId == null ? Optional.empty() : assemble(quizId, userId);
+    }
+
+    /**
+     * The student's quiz; empty when the quiz is not a blueprint. Drawn questions that
+     * were deleted from the bank since are left out.
+     */
+    public Optional<Assembly> assemble(Long quizId, long userId) {
+        Index current = index;
+        Plan plan = current.plans().get(quizId);
+        if (plan == null) {
+            return Optional.empty();
+        }
+        Map<Long, Item> bank = current.topics().getOrDefault(plan.topicId(), Map.of());
+        SplittableRandom random = new SplittableRandom(mix(plan.seed(), userId));
+
+        List<Item> picked = new ArrayList<>();
+        for (Difficulty level : LEVELS) {
+            pick(plan.candidates()[level.ordinal()], plan.counts()[level.ordinal()], random, bank, picked);
+        }
+        // Otherwise every student would get the easy questions first
+        for (int i = picked.size() - 1; i > 0; i--) {
+            Collections.swap(picked, i, random.nextInt(i + 1));
+        }
+
+        int n = picked.size();
+        long[] questionIds = new long[n];
+        byte[] correct = new byte[n];
+        byte[][] optionOrder = new byte[n][];
+        List<AssembledQuestion> questions = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Item item = picked.get(i);
+            byte[] order = { 0, 1, 2, 3 };
+            if (plan.shuffleOptions()) {
+                for (int j = order.length - 1; j > 0; j--) {
+                    int k = random.nextInt(j + 1);
+                    byte swap = order[j];
+                    order[j] = order[k];
+                    order[k] = swap;
+                }
+            }
+            questionIds[i] = item.id();
+            correct[i] = QuizGrader.UNANSWERED;     // never matches: the question has no valid key
+            for (byte shown = 0; shown < order.length; shown++) {
+                if (order[shown] == item.correct()) {
+                    correct[i] = shown;
+                }
+            }
+            optionOrder[i] = order;
+            String[] options = item.options();
+            questions.add(new AssembledQuestion(item.id(), item.text(),
+                    options[order[0]], options[order[1]], options[order[2]], options[order[3]]));
+        }
+        AssembledQuiz quiz = new AssembledQuiz(plan.quizId(), plan.displayId(), plan.title(), plan.topicId(),
+                userId, questions);
+        return Optional.of(new Assembly(quiz, new QuizGrader.AnswerKey(questionIds, correct), optionOrder));
+    }
+
+    // Floyd's algorithm: count distinct positions from count draws, without copying the candidates
+    private static void pick(long[] candidates, int count, SplittableRandom random,
+                             Map<Long, Item> bank, List<Item> into) {
+        int n = candidates.length;
+        Set<Integer> chosen = new LinkedHashSet<>();
+        for (int j = n - Math.min(count, n); j < n; j++) {
+            int t = random.nextInt(j + 1);
+            chosen.add(chosen.contains(t) ? j : t);
+        }
+        for (int position : chosen) {
+            Item item = bank.get(candidates[position]);
+            if (item != null) {
+                into.add(item);
+            }
+        }
+    }
+
+    // Spreads neighbouring user ids over the seed space
+    private static long mix(long seed, long userId) {
+        return seed ^ Long.rotateLeft(userId * 0x9E3779B97F4A7C15L, 31);
+    }
+
+    // ===============================
+    // TAGS
+    // ===============================
+
+    /** Lower-cased, trimmed, de-duplicated and sorted; null or blank tags are dropped. */
+    public static Set<String> normalizeTags(Collection<String> tags) {
+        Set<String> normalized = new TreeSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                if (tag != null && !tag.isBlank()) {
+                    normalized.add(tag.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return normalized;
+    }
+
+    /** Inverse of the comma separated column format. */
+    public static Set<String> parseTags(String column) {
+        return column == null || column.isBlank() ? Set.of() : normalizeTags(Arrays.asList(column.split(",")));
+    }
+
+    public static String joinTags(Set<String> tags) {
+        return tags.isEmpty() ? null : String.join(",", tags);
+    }
+
+    /** Same comma separated format for the frozen candidate ids of a blueprint. */
+    public static String joinIds(List<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static long[] parseIds(String column) {
+        return column == null || column.isBlank()
+                ? new long[0]
+                : Arrays.stream(column.split(",")).mapToLong(id -> Long.parseLong(id.trim())).toArray();
+    }
+
+    /** Whether a bank question's tags (column format) include one of the wanted tags; any do when none are wanted. */
+    public static boolean hasAnyTag(String column, Set<String> wanted) {
+        if (wanted.isEmpty()) {
+            return true;
+        }
+        for (String tag : parseTags(column)) {
+            if (wanted.contains(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ===============================
+    // LOADING
+    // ===============================
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reloadAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBankChanged(QuestionBankChangedEvent event) {
+        synchronized (reloadLock) {
+            Map<Long, Map<Long, Item>> topics = new HashMap<>(index.topics());
+            Map<Long, Item> bank = byId(bankQuestionRepository.findByTopicIdOrderByIdAsc(event.topicId()));
+            if (bank.isEmpty()) {
+                topics.remove(event.topicId());
+            } else {
+                topics.put(event.topicId(), bank);
+            }
+            index = new Index(Map.copyOf(topics), index.plans(), index.quizIds());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        synchronized (reloadLock) {
+            Map<Long, Plan> plans = new HashMap<>(index.plans());
+            Plan old = plans.remove(event.quizId());
+            Optional<BlueprintRow> row = event.removed()
+                    ? Optional.empty()
+                    : blueprintRepository.findRowByQuizId(event.quizId());
+            if (old == null && row.isEmpty()) {
+                return;     // a regular quiz
+            }
+            row.ifPresent(found -> plans.put(found.quizId(), Plan.of(found)));
+            index = new Index(index.topics(), Map.copyOf(plans), displayIds(plans));
+        }
+    }
+
+    // Course deletes remove banks, blueprints and quizzes in bulk, without per-item events
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.type() == CatalogChangedEvent.Type.COURSE && event.removed()) {
+            reloadAll();
+        }
+    }
+
+    private void reloadAll() {
+        long started = System.currentTimeMillis();
+        synchronized (reloadLock) {
+            Map<Long, List<BankQuestion>> byTopic = new LinkedHashMap<>();
+            for (BankQuestion question : bankQuestionRepository.findAllByOrderByTopicIdAscIdAsc()) {
+                byTopic.computeIfAbsent(question.getTopicId(), id -> new ArrayList<>()).add(question);
+            }
+            Map<Long, Map<Long, Item>> topics = new HashMap<>();
+            byTopic.forEach((topicId, questions) -> topics.put(topicId, byId(questions)));
+
+            Map<Long, Plan> plans = new HashMap<>();
+            for (BlueprintRow row : blueprintRepository.findAllRows()) {
+                plans.put(row.quizId(), Plan.of(row));
+            }
+            index = new Index(Map.copyOf(topics), Map.copyOf(plans), displayIds(plans));
+        }
+        log.info("Question bank loaded: {} topics, {} blueprints in {} ms",
+                index.topics().size(), index.plans().size(), System.currentTimeMillis() - started);
+    }
+
+    private static Map<Long, Item> byId(List<BankQuestion> questions) {
+        Map<Long, Item> items = new HashMap<>();
+        for (BankQuestion question : questions) {
+            items.put(question.getId(), Item.of(question));
+        }
+        return Map.copyOf(items);
+    }
+
+    private static Map<String, Long> displayIds(Map<Long, Plan> plans) {
+        Map<String, Long> quizIds = new HashMap<>();
+        plans.values().forEach(plan -> quizIds.put(plan.displayId(), plan.quizId()));
+        return Map.copyOf(quizIds);
+    }
+
+    // ===============================
+    // DATA
+    // ===============================
+
+    /** One student's quiz and its key. The key holds the correct option as that student sees it. */
+    public record Assembly(AssembledQuiz quiz, QuizGrader.AnswerKey key, byte[][] optionOrder) {
+
+        /** Maps an option picked as shown back to the bank question's own option index. */
+        public byte originalOption(int position, byte shown) {
+            return shown == QuizGrader.UNANSWERED ? shown : optionOrder[position][shown];
+        }
+
+        public List<Long> questionIds() {
+            List<Long> ids = new ArrayList<>(key.size());
+            for (int i = 0; i < key.size(); i++) {
+                ids.add(key.questionId(i));
+            }
+            return ids;
+        }
+    }
+
+    private record Index(Map<Long, Map<Long, Item>> topics, Map<Long, Plan> plans, Map<String, Long> quizIds) {}
+
+    /** Immutable copy of a bank question; correct is -1 when its key is not one of A..D. */
+    private record Item(long id, String text, String[] options, byte correct) {
+
+        static Item of(BankQuestion question) {
+            String key = question.getCorrectOption();
+            int correct = key != null && key.length() == 1 ? OPTIONS.indexOf(Character.toUpperCase(key.charAt(0))) : -1;
+            return new Item(question.getId(), question.getQuestionText(),
+                    new String[] { question.getOptionA(), question.getOptionB(), question.getOptionC(), question.getOptionD() },
+                    (byte) correct);
+        }
+    }
+
+    /** A blueprint with its quiz row; counts and candidates are indexed by Difficulty ordinal. */
+    private record Plan(long quizId, String displayId, String title, long topicId, int[] counts,
+                        long[][] candidates, boolean shuffleOptions, long seed) {
+
+        static Plan of(BlueprintRow row) {
+            return new Plan(row.quizId(), row.displayId(), row.title(), row.topicId(),
+                    new int[] { row.easyCount(), row.mediumCount(), row.hardCount() },
+                    new long[][] { parseIds(row.easyQuestionIds()), parseIds(row.mediumQuestionIds()),
+                            parseIds(row.hardQuestionIds()) },
+                    row.shuffleOptions(), row.seed());
+        }
+    }
+}
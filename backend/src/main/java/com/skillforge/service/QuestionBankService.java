@@ -0,0 +1,175 @@
+package com.skillforge.service;
+
+import com.skillforge.dto.BankQuestionRequest;
+import com.skillforge.dto.BlueprintRequest;
+import com.skillforge.event.QuestionBankChangedEvent;
+import com.skillforge.event.QuizChangedEvent;
+import com.skillforge.exception.BankQuestionNotFoundException;
+import com.skillforge.exception.InvalidBlueprintException;
+import com.skillforge.exception.TopicNotFoundException;
+import com.skillforge.model.BankQuestion;
+import com.skillforge.model.Difficulty;
+import com.skillforge.model.Quiz;
+import com.skillforge.model.QuizBlueprint;
+import com.skillforge.repository.BankQuestionRepository;
+import com.skillforge.repository.QuizBlueprintRepository;
+import com.skillforge.repository.QuizRepository;
+import com.skillforge.repository.TopicRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Question bank and blueprint writes. Reads for students go through the in-memory
+ * QuestionBank, which reloads from the events published here once they commit.
+ */
+@Service
+public class QuestionBankService {
+
+    private static final SecureRandom SEEDS = new SecureRandom();
+
+    private final BankQuestionRepository bankQuestionRepository;
+    private final QuizBlueprintRepository blueprintRepository;
+    private final QuizRepository quizRepository;
+    private final TopicRepository topicRepository;
+    private final ApplicationEventPublisher events;
+
+    public QuestionBankService(BankQuestionRepository bankQuestionRepository,
+                               QuizBlueprintRepository blueprintRepository,
+                               QuizRepository quizRepository,
+                               TopicRepository topicRepository,
+                               ApplicationEventPublisher events) {
+        this.bankQuestionRepository = bankQuestionRepository;
+        this.blueprintRepository = blueprintRepository;
+        this.quizRepository = quizRepository;
+        this.topicRepository = topicRepository;
+        this.events = events;
+    }
+
+    // ===============================
+    // BANK QUESTIONS
+    // ===============================
+
+    @Transactional(readOnly = true)
+    public List<BankQuestion> getByTopic(Long topicId) {
+        return bankQuestionRepository.findByTopicIdOrderByIdAsc(topicId);
+    }
+
+    @Transactional
+    public BankQuestion create(BankQuestionRequest request) {
+        requireTopic(request.getTopicId());
+        BankQuestion question = new BankQuestion();
+        question.setTopicId(request.getTopicId());
+        apply(question, request);
+        BankQuestion saved = bankQuestionRepository.save(question);
+        events.publishEvent(new QuestionBankChangedEvent(saved.getTopicId()));
+        return saved;
+    }
+
+    /** The topic cannot be changed: blueprints of that topic would silently lose the question. */
+    @Transactional
+    public BankQuestion update(Long id, BankQuestionRequest request) {
+        BankQuestion question = bankQuestionRepository.findById(id)
+                .orElseThrow(() -> new BankQuestionNotFoundException(id));
+        apply(question, request);
+        events.publishEvent(new QuestionBankChangedEvent(question.getTopicId()));
+        return question;
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        BankQuestion question = bankQuestionRepository.findById(id)
+                .orElseThrow(() -> new BankQuestionNotFoundException(id));
+        bankQuestionRepository.delete(question);
+        events.publishEvent(new QuestionBankChangedEvent(question.getTopicId()));
+    }
+
+    private static void apply(BankQuestion question, BankQuestionRequest request) {
+        question.setQuestionText(request.getQuestionText().trim());
+        question.setOptionA(request.getOptionA());
+        question.setOptionB(request.getOptionB());
+        question.setOptionC(request.getOptionC());
+        question.setOptionD(request.getOptionD());
+        question.setCorrectOption(request.getCorrectOption().trim().toUpperCase(Locale.ROOT));
+        question.setDifficulty(request.getDifficulty() == null
+                ? Difficulty.MEDIUM
+                : Difficulty.valueOf(request.getDifficulty().trim().toUpperCase(Locale.ROOT)));
+        question.setTags(QuestionBank.joinTags(QuestionBank.normalizeTags(request.getTags())));
+    }
+
+    // ===============================
+    // BLUEPRINTS
+    // ===============================
+
+    /**
+     * Creates a quiz without questions of its own and its blueprint. The bank must hold
+     * enough matching questions of every difficulty asked for; those are frozen as the
+     * blueprint's candidates, so later bank edits do not reshuffle exams in progress.
+     */
+    @Transactional
+    public Quiz createBlueprint(BlueprintRequest request) {
+        requireTopic(request.getTopicId());
+        int[] counts = { request.getEasyCount(), request.getMediumCount(), request.getHardCount() };
+        Set<String> tags = QuestionBank.normalizeTags(request.getTags());
+        List<List<Long>> candidates = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            candidates.add(new ArrayList<>());
+        }
+        // Id order, like the index: the draw depends on the candidates' positions
+        for (BankQuestion question : bankQuestionRepository.findByTopicIdOrderByIdAsc(request.getTopicId())) {
+            if (QuestionBank.hasAnyTag(question.getTags(), tags)) {
+                candidates.get(question.getDifficulty().ordinal()).add(question.getId());
+            }
+        }
+        int total = 0;
+        for (Difficulty level : Difficulty.values()) {
+            int wanted = counts[level.ordinal()];
+            if (wanted < 0) {
+                throw new InvalidBlueprintException("Question counts cannot be negative.");
+            }
+            int available = candidates.get(level.ordinal()).size();
+            if (wanted > available) {
+                throw new InvalidBlueprintException("The topic's bank has only " + available + " "
+                        + level.name().toLowerCase(Locale.ROOT) + " questions" + (tags.isEmpty() ? "" : " with these tags")
+                        + ", " + wanted + " requested.");
+            }
+            total += wanted;
+        }
+        if (total == 0) {
+            throw new InvalidBlueprintException("A blueprint needs at least one question.");
+        }
+
+        Quiz quiz = new Quiz();
+        quiz.setTitle(request.getTitle().trim());
+        quiz.setTopicId(request.getTopicId());
+        Quiz saved = quizRepository.save(quiz);
+
+        QuizBlueprint blueprint = new QuizBlueprint();
+        blueprint.setQuizId(saved.getId());
+        blueprint.setEasyCount(counts[Difficulty.EASY.ordinal()]);
+        blueprint.setMediumCount(counts[Difficulty.MEDIUM.ordinal()]);
+        blueprint.setHardCount(counts[Difficulty.HARD.ordinal()]);
+        blueprint.setTags(QuestionBank.joinTags(tags));
+        blueprint.setEasyQuestionIds(QuestionBank.joinIds(candidates.get(Difficulty.EASY.ordinal())));
+        blueprint.setMediumQuestionIds(QuestionBank.joinIds(candidates.get(Difficulty.MEDIUM.ordinal())));
+        blueprint.setHardQuestionIds(QuestionBank.joinIds(candidates.get(Difficulty.HARD.ordinal())));
+        blueprint.setShuffleOptions(request.getShuffleOptions() == null || request.getShuffleOptions());
+        blueprint.setSeed(SEEDS.nextLong());
+        blueprintRepository.save(blueprint);
+
+        events.publishEvent(new QuizChangedEvent(saved.getId(), false));
+        return saved;
+    }
+
+    private void requireTopic(Long topicId) {
+        if (!topicRepository.existsById(topicId)) {
+            throw new TopicNotFoundException(topicId);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.skillforge.service;
+
+import com.skillforge.cache.BoundedCache;
+import com.skillforge.dto.AnswerKeyRow;
+import com.skillforge.event.CatalogChangedEvent;
+import com.skillforge.event.QuizChangedEvent;
+import com.skillforge.exception.InvalidSubmissionException;
+import com.skillforge.repository.QuizRepository;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Grades quiz submissions against answer keys compiled once per quiz.
+ *
+ * A key is the question ids and one byte per question (correct option index), loaded
+ * with a single two-column query on a miss and kept in a bounded in-memory cache, so
+ * grading is a loop over a byte array and never reads the questions table.
+ * Keys are dropped after commit when a quiz changes (QuizChangedEvent) and when a
+ * course delete removes quizzes in bulk.
+ */
+@Component
+public class QuizGrader {
+
+    public static final byte UNANSWERED = -1;
+
+    private static final String OPTIONS = "ABCD";
+
+    private final QuizRepository quizRepository;
+    private final BoundedCache<Long, AnswerKey> keys;
+
+    public QuizGrader(QuizRepository quizRepository, Environment env) {
+        this.quizRepository = quizRepository;
+        this.keys = new BoundedCache<>("answer-keys",
+                env.getProperty("quiz.answer-keys.max-entries", Long.class, 10_000L),
+                env.getProperty("quiz.answer-keys.ttl", Duration.class, Duration.ofHours(6)),
+                key -> 1);
+    }
+
+    /** Compiled key of a quiz; empty when the quiz has no questions (or does not exist). */
+    public Optional<AnswerKey> answerKey(Long quizId) {
+        return Optional.ofNullable(keys.get(quizId, () -> compile(quizRepository.findAnswerKeyRows(quizId))));
+    }
+
+    public Grade grade(AnswerKey key, List<String> answers) {
+        int total = key.size();
+        if (answers.size() > total) {
+            throw new InvalidSubmissionException(
+                    "Got " + answers.size() + " answers for a quiz with " + total + " questions.");
+        }
+        byte[] chosen = new byte[total];
+        boolean[] correct = new boolean[total];
+        int score = 0;
+        for (int i = 0; i < total; i++) {
+            byte option = i < answers.size() ? parseOption(answers.get(i)) : UNANSWERED;
+            chosen[i] = option;
+            correct[i] = option != UNANSWERED && option == key.options[i];
+            if (correct[i]) {
+                score++;
+            }
+        }
+        return new Grade(score, chosen, correct);
+    }
+
+    private static byte parseOption(String answer) {
+        if (answer == null || answer.isBlank()) {
+            return UNANSWERED;
+        }
+        int index = answer.length() == 1 ? OPTIONS.indexOf(Character.toUpperCase(answer.charAt(0))) : -1;
+        if (index < 0) {
+            throw new InvalidSubmissionException("Invalid option '" + answer + "': expected one of A, B, C, D.");
+        }
+        return (byte) index;
+    }
+
+    private static AnswerKey compile(List<AnswerKeyRow> rows) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        long[] questionIds = new long[rows.size()];
+        byte[] options = new byte[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            AnswerKeyRow row = rows.get(i);
+            questionIds[i] = row.questionId();
+            String correct = row.correctOption();
+            // A question without a valid key can never be answered correctly
+            int index = correct != null && correct.length() == 1
+                    ? OPTIONS.indexOf(Character.toUpperCase(correct.charAt(0))) : -1;
+            options[i] = (byte) index;
+        }
+        return new AnswerKey(questionIds, options);
+    }
+
+    // ===============================
+    // INVALIDATION
+    // ===============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        keys.invalidate(event.quizId());
+    }
+
+    // Course deletes remove quizzes with bulk statements and no per-quiz events
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.type() == CatalogChangedEvent.Type.COURSE && event.removed()) {
+            keys.invalidateAll();
+        }
+    }
+
+    public BoundedCache.Stats stats() {
+        return keys.stats();
+    }
+
+    // ===============================
+    // DATA
+    // ===============================
+
+    /** Immutable: question ids in quiz order and the correct option index of each. */
+    public static final class AnswerKey {
+        private final long[] questionIds;
+        private final byte[] options;
+
+        AnswerKey(long[] questionIds, byte[] options) {
+            this.questionIds = questionIds;
+            this.options = options;
+        }
+
+        public int size() {
+            return options.length;
+        }
+
+        public long questionId(int position) {
+            return questionIds[position];
+        }
+    }
+
+    /** chosen[i] is the option index picked for question i, UNANSWERED if none. */
+    public record Grade(int score, byte[] chosen, boolean[] correct) {
+        public int total() {
+            return chosen.length;
+        }
+    }
+}
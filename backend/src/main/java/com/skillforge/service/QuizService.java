@@ -1,19 +1,34 @@
 package com.skillforge.service;
 
+import com.skillforge.dto.AttemptResult;
+import com.skillforge.dto.AttemptSubmission;
+import com.skillforge.dto.CursorPage;
+import com.skillforge.dto.QuizSummary;
+import com.skillforge.dto.VersionStamp;
+import com.skillforge.event.AttemptsRecordedEvent;
+import com.skillforge.event.QuizChangedEvent;
+import com.skillforge.exception.InvalidSubmissionException;
+import com.skillforge.exception.QuizNotFoundException;
+import com.skillforge.exception.StaleAssemblyException;
 import com.skillforge.model.Quiz;
 import com.skillforge.model.Question;
 import com.skillforge.model.QuizAttempt;
 import com.skillforge.repository.QuizRepository;
 import com.skillforge.repository.QuizAttemptRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 public class QuizService {
@@ -24,6 +39,21 @@ public class QuizService {
     @Autowired
     private QuizAttemptRepository quizAttemptRepository;
 
+    @Autowired
+    private QuizGrader quizGrader;
+
+    @Autowired
+    private AttemptIngestion attemptIngestion;
+
+    @Autowired
+    private QuestionBank questionBank;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /** * ✅ Generates a quiz with a unique Display ID to avoid duplicates.
      * Required by QuizController.
      */
@@ -50,34 +80,119 @@ public class QuizService {
         }
 
         quiz.setQuestions(simulatedQuestions);
-        return quizRepository.save(quiz);
+        Quiz saved = quizRepository.save(quiz);
+        events.publishEvent(new QuizChangedEvent(saved.getId(), false));
+        return saved;
+    }
+
+    // withQuestionCount = false skips the SIZE(questions) subquery (totalQuestions comes back null)
+    @Transactional(readOnly = true)
+    public List<QuizSummary> getAllQuizzes(boolean withQuestionCount) {
+        return withQuestionCount
+                ? quizRepository.findAllSummaries()
+                : quizRepository.findAllSummariesWithoutCount();
+    }
+
+    @Transactional(readOnly = true)
+    public String quizListETag(String cursor, Integer limit) {
+        return VersionStamp.etag("quizzes", cursor, limit, quizRepository.stamp());
+    }
+
+    @Transactional(readOnly = true)
+    public String byTopicETag(Long topicId) {
+        return VersionStamp.etag("quizzes-by-topic", topicId, quizRepository.stampByTopicId(topicId));
     }
 
-    public List<Quiz> getAllQuizzes() {
-        return quizRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<QuizSummary> getQuizPage(String cursor, int limit, boolean withQuestionCount) {
+        long afterId = CursorPage.decode(cursor);
+        List<QuizSummary> rows = withQuestionCount
+                ? quizRepository.findSummariesAfter(afterId, Limit.of(limit + 1))
+                : quizRepository.findSummariesWithoutCountAfter(afterId, Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, QuizSummary::id);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Quiz> findByDisplayId(String displayId) {
-        return quizRepository.findByDisplayId(displayId);
+        Optional<Quiz> quiz = quizRepository.findByDisplayId(displayId);
+        // Questions are written into the response: initialize them here (quiz.questions
+        // collection cache), not lazily during serialization
+        quiz.ifPresent(found -> Hibernate.initialize(found.getQuestions()));
+        return quiz;
     }
 
+    @Transactional(readOnly = true)
     public List<QuizAttempt> getAttemptsByUserId(Long userId) {
         // Matches the updated repository method name
         return quizAttemptRepository.findByUserIdOrderByTimestampDesc(userId);
     }
 
-    public QuizAttempt saveAttempt(QuizAttempt attempt) {
-        if (attempt.getTimestamp() == null) {
-            attempt.setTimestamp(LocalDateTime.now());
+    /**
+     * Grades the chosen options against the quiz's cached answer key and stores the
+     * attempt with one row per answer (inserted in one JDBC batch). With write-behind
+     * ingestion the attempt is only logged here and attemptId is null.
+     */
+    @Transactional
+    public AttemptResult submitAttempt(AttemptSubmission submission) {
+        GradedAttempt graded = questionBank.isBlueprint(submission.getQuizId())
+                ? gradeAssembled(submission)
+                : gradeFixed(submission);
+
+        if (attemptIngestion.isEnabled()) {
+            graded = attemptIngestion.submit(graded);
+        } else {
+            graded = graded.withAttemptId(AttemptIngestion.store(entityManager, graded).getId());
+            List<GradedAttempt> stored = List.of(graded);
+            events.publishEvent(new AttemptsRecordedEvent(stored, AttemptIngestion.topicsOf(entityManager, stored)));
+        }
+        return new AttemptResult(graded.attemptId(), graded.quizId(), graded.score(), graded.total(),
+                graded.correctList(), graded.timestamp());
+    }
+
+    private GradedAttempt gradeFixed(AttemptSubmission submission) {
+        QuizGrader.AnswerKey key = quizGrader.answerKey(submission.getQuizId())
+                .orElseThrow(() -> new QuizNotFoundException(submission.getQuizId()));
+        return GradedAttempt.of(submission.getUserId(), submission.getQuizId(), key,
+                quizGrader.grade(key, submission.getAnswers()));
+    }
+
+    /**
+     * Re-derives the student's assembly and grades against it. Stored answers use the
+     * bank question's own option order, so answers of different students are comparable.
+     */
+    private GradedAttempt gradeAssembled(AttemptSubmission submission) {
+        QuestionBank.Assembly assembly = questionBank.assemble(submission.getQuizId(), submission.getUserId())
+                .orElseThrow(() -> new QuizNotFoundException(submission.getQuizId()));
+        if (submission.getQuestionIds() == null) {
+            throw new InvalidSubmissionException("questionIds are required for a randomized quiz.");
+        }
+        if (!submission.getQuestionIds().equals(assembly.questionIds())) {
+            throw new StaleAssemblyException(submission.getQuizId());
         }
-        return quizAttemptRepository.save(attempt);
+        QuizGrader.Grade grade = quizGrader.grade(assembly.key(), submission.getAnswers());
+        byte[] chosen = grade.chosen();
+        for (int i = 0; i < chosen.length; i++) {
+            chosen[i] = assembly.originalOption(i, chosen[i]);
+        }
+        return GradedAttempt.of(submission.getUserId(), submission.getQuizId(), assembly.key(), grade);
+    }
+
+    // Caller must consume and close the stream inside a transaction (see JsonStreaming)
+    public Stream<QuizAttempt> streamAllAttempts() {
+        return quizAttemptRepository.streamAll();
     }
 
-    public List<QuizAttempt> getAllAttempts() {
-        return quizAttemptRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<QuizAttempt> getAttemptPage(String cursor, int limit) {
+        List<QuizAttempt> rows = quizAttemptRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.decode(cursor), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, QuizAttempt::getId);
     }
 
-    public List<Quiz> getQuizzesByTopic(Long topicId) {
-        return quizRepository.findByTopicId(topicId);
+    @Transactional(readOnly = true)
+    public List<QuizSummary> getQuizzesByTopic(Long topicId, boolean withQuestionCount) {
+        return withQuestionCount
+                ? quizRepository.findSummariesByTopicId(topicId)
+                : quizRepository.findSummariesWithoutCountByTopicId(topicId);
     }
 }
\ No newline at end of file
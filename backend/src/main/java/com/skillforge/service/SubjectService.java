@@ -1,20 +1,31 @@
 package com.skillforge.service;
 
+import com.skillforge.dto.BulkImportResult;
+import com.skillforge.dto.SubjectRequestDTO;
+import com.skillforge.event.CatalogChangedEvent;
+import com.skillforge.event.SubjectsImportedEvent;
 import com.skillforge.model.Subject;
 import com.skillforge.model.Course;
 import com.skillforge.model.User;
 import com.skillforge.repository.SubjectRepository;
 import com.skillforge.repository.CourseRepository;
+import com.skillforge.repository.TopicContentRepository;
 import com.skillforge.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.*;
 
 @Service
 public class SubjectService {
 
+    // Matches hibernate.jdbc.batch_size: flush one JDBC batch, then drop the managed copies
+    private static final int IMPORT_FLUSH_SIZE = 50;
+
     @Autowired
     private SubjectRepository repo;
 
@@ -24,30 +35,117 @@ public class SubjectService {
     @Autowired
     private UserRepository userRepository;
 
-    public List<Subject> listAll() {
-        return repo.findAll();
-    }
+    @Autowired
+    private TopicContentRepository topicContentRepository;
 
-    public List<Subject> listByCourse(Long courseId) {
-        return repo.findByCourseId(courseId);
-    }
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    public List<Subject> listByInstructor(Long instructorId) {
-        return repo.findByInstructorId(instructorId);
-    }
+    @Autowired
+    private ApplicationEventPublisher events;
 
     @Transactional
     public Subject save(Subject subject) {
-        return repo.save(subject);
+        // A subject moved to another course also invalidates the course it left
+        Long previousCourseId = subject.getId() != null ? repo.findCourseIdById(subject.getId()).orElse(null) : null;
+        Subject saved = repo.save(subject);
+        publishChanged(saved);
+        Long courseId = saved.getCourse() != null ? saved.getCourse().getId() : null;
+        if (previousCourseId != null && !previousCourseId.equals(courseId)) {
+            events.publishEvent(CatalogChangedEvent.subject(saved.getId(), previousCourseId, false));
+        }
+        // The response embeds course, instructor and topics: load them before the session closes
+        return repo.findGraphById(saved.getId()).orElse(saved);
     }
 
+    /**
+     * Bulk import in one transaction: course and instructor ids are resolved with
+     * IN queries, rows are validated in memory, valid rows are inserted in JDBC
+     * batches and invalid rows are reported instead of aborting the import.
+     */
     @Transactional
-    public List<Subject> saveAll(List<Subject> subjects) {
-        return repo.saveAll(subjects);
+    public BulkImportResult importAll(List<SubjectRequestDTO> requests) {
+        Set<Long> courseIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (SubjectRequestDTO request : requests) {
+            if (request == null) {
+                continue;
+            }
+            if (request.getCourseId() != null) courseIds.add(request.getCourseId());
+            if (request.getInstructorId() != null) userIds.add(request.getInstructorId());
+        }
+        Set<Long> courses = courseIds.isEmpty() ? Set.of() : new HashSet<>(courseRepository.findIdsByIdIn(courseIds));
+        Set<Long> users = userIds.isEmpty() ? Set.of() : new HashSet<>(userRepository.findIdsByIdIn(userIds));
+        Set<Long> instructors = users.isEmpty() ? Set.of() : new HashSet<>(userRepository.findInstructorIdsByIdIn(users));
+
+        List<BulkImportResult.Row> rows = new ArrayList<>(requests.size());
+        List<Long> createdIds = new ArrayList<>();
+        Set<Long> touchedCourses = new HashSet<>();
+        int pending = 0;
+
+        for (int i = 0; i < requests.size(); i++) {
+            SubjectRequestDTO request = requests.get(i);
+            String error = validate(request, courses, users, instructors);
+            if (error != null) {
+                rows.add(new BulkImportResult.Row(i, null, error));
+                continue;
+            }
+
+            Subject subject = new Subject();
+            subject.setName(request.getName());
+            subject.setDescription(request.getDescription() != null ? request.getDescription() : "");
+            // References only: existence was checked above, nothing is loaded
+            subject.setCourse(entityManager.getReference(Course.class, request.getCourseId()));
+            subject.setInstructor(entityManager.getReference(User.class, request.getInstructorId()));
+            entityManager.persist(subject);
+
+            rows.add(new BulkImportResult.Row(i, subject.getId(), null));
+            createdIds.add(subject.getId());
+            touchedCourses.add(request.getCourseId());
+            if (++pending == IMPORT_FLUSH_SIZE) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        entityManager.flush();
+
+        if (!createdIds.isEmpty()) {
+            events.publishEvent(new SubjectsImportedEvent(List.copyOf(createdIds), Set.copyOf(touchedCourses)));
+        }
+        return new BulkImportResult(createdIds.size(), requests.size() - createdIds.size(), rows);
+    }
+
+    // Same checks and messages as the single-subject endpoint
+    private static String validate(SubjectRequestDTO request, Set<Long> courses, Set<Long> users, Set<Long> instructors) {
+        if (request == null) {
+            return "Empty row";
+        }
+        if (request.getName() == null || request.getName().isBlank()) {
+            return "Subject name is required";
+        }
+        if (request.getCourseId() == null || !courses.contains(request.getCourseId())) {
+            return "Course not found with ID: " + request.getCourseId();
+        }
+        if (request.getInstructorId() == null || !users.contains(request.getInstructorId())) {
+            return "User not found with ID: " + request.getInstructorId();
+        }
+        if (!instructors.contains(request.getInstructorId())) {
+            return "User with ID " + request.getInstructorId() + " is not an instructor";
+        }
+        return null;
     }
 
     @Transactional
     public void delete(Long id) {
+        Long courseId = repo.findCourseIdById(id).orElse(null);
+        topicContentRepository.bulkDeleteBySubjectId(id);
         repo.deleteById(id);
+        events.publishEvent(CatalogChangedEvent.subject(id, courseId, true));
+    }
+
+    private void publishChanged(Subject subject) {
+        Long courseId = subject.getCourse() != null ? subject.getCourse().getId() : null;
+        events.publishEvent(CatalogChangedEvent.subject(subject.getId(), courseId, false));
     }
 }
\ No newline at end of file
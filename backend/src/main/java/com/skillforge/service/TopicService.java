@@ -1,20 +1,40 @@
 package com.skillforge.service;
 
+import com.skillforge.cache.CatalogCache;
+import com.skillforge.dto.VersionStamp;
+import com.skillforge.event.CatalogChangedEvent;
 import com.skillforge.model.Topic;
+import com.skillforge.model.TopicContent;
+import com.skillforge.repository.SubjectRepository;
+import com.skillforge.repository.TopicContentRepository;
 import com.skillforge.repository.TopicRepository;
 import com.skillforge.exception.TopicNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class TopicService {
 
     private final TopicRepository repo;
+    private final SubjectRepository subjectRepository;
+    private final TopicContentRepository contentRepository;
+    private final CatalogCache cache;
+    private final ApplicationEventPublisher events;
 
-    public TopicService(TopicRepository repo) {
+    public TopicService(TopicRepository repo,
+                        SubjectRepository subjectRepository,
+                        TopicContentRepository contentRepository,
+                        CatalogCache cache,
+                        ApplicationEventPublisher events) {
         this.repo = repo;
+        this.subjectRepository = subjectRepository;
+        this.contentRepository = contentRepository;
+        this.cache = cache;
+        this.events = events;
     }
 
     @Transactional
@@ -23,40 +43,79 @@ public class TopicService {
         if (topic.getSubject() == null || topic.getName() == null) {
             throw new IllegalArgumentException("Subject and Topic Name are required");
         }
-        return repo.save(topic);
+        Topic saved = repo.save(topic);
+        if (topic.getContent() != null) {
+            contentRepository.save(new TopicContent(saved.getId(), topic.getContent()));
+        }
+        publishChanged(saved.getId(), saved.getSubject().getId(), false);
+        // The response embeds subject, course and instructor: load them before the session closes
+        return repo.findGraphById(saved.getId()).orElse(saved);
     }
 
-    public List<Topic> listAll() {
-        return repo.findAll();
+    @Transactional(readOnly = true)
+    public String byIdETag(Long id) {
+        return VersionStamp.etag("topic", id, repo.stampById(id));
     }
 
-    // ✅ UPDATE: Use the repository method that works with Object paths
-    public List<Topic> listBySubject(Long subjectId) {
-        return repo.findBySubject_Id(subjectId);
+    @Transactional(readOnly = true)
+    public Topic getById(Long id) {
+        Topic topic = cache.get(CatalogCache.Region.TOPIC, id, () -> repo.findGraphById(id).orElse(null));
+        if (topic == null) {
+            throw new TopicNotFoundException(id);
+        }
+        return topic;
     }
 
-    public Topic getById(Long id) {
-        return repo.findById(id)
-                .orElseThrow(() -> new TopicNotFoundException(id));
+    /**
+     * Lesson text, loaded on its own (second-level cached, region topic-content).
+     * Empty when the topic exists without text, absent when the topic does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<TopicContent> getContent(Long id) {
+        Optional<TopicContent> content = contentRepository.findById(id);
+        if (content.isPresent() || !repo.existsById(id)) {
+            return content;
+        }
+        return Optional.of(new TopicContent(id, null));
     }
 
     @Transactional
     public void delete(Long id) {
-        if (!repo.existsById(id)) {
-            throw new TopicNotFoundException(id);
-        }
-        repo.deleteById(id);
+        Topic topic = repo.findById(id).orElseThrow(() -> new TopicNotFoundException(id));
+        Long subjectId = topic.getSubject() != null ? topic.getSubject().getId() : null;
+        contentRepository.deleteById(id);
+        repo.delete(topic);
+        publishChanged(id, subjectId, true);
     }
 
     @Transactional
     public Topic update(Long id, Topic data) {
         return repo.findById(id).map(topic -> {
+            Long previousSubjectId = topic.getSubject() != null ? topic.getSubject().getId() : null;
             if (data.getName() != null) topic.setName(data.getName());
-            if (data.getContent() != null) topic.setContent(data.getContent());
+            if (data.getContent() != null) saveContent(id, data.getContent());
             // ✅ UPDATE: Set subject object if needed
             if (data.getSubject() != null) topic.setSubject(data.getSubject());
             if (data.getType() != null) topic.setType(data.getType());
-            return repo.save(topic);
+            Topic saved = repo.save(topic);
+
+            Long subjectId = saved.getSubject() != null ? saved.getSubject().getId() : null;
+            publishChanged(id, subjectId, false);
+            if (previousSubjectId != null && !previousSubjectId.equals(subjectId)) {
+                publishChanged(id, previousSubjectId, false);
+            }
+            return repo.findGraphById(id).orElse(saved);
         }).orElseThrow(() -> new TopicNotFoundException(id));
     }
+
+    private void saveContent(Long topicId, String text) {
+        contentRepository.findById(topicId).ifPresentOrElse(
+                content -> content.setContent(text),
+                () -> contentRepository.save(new TopicContent(topicId, text)));
+    }
+
+    private void publishChanged(Long topicId, Long subjectId, boolean removed) {
+        Long courseId = subjectId != null ? subjectRepository.findCourseIdById(subjectId).orElse(null) : null;
+        events.publishEvent(CatalogChangedEvent.topic(topicId, subjectId, courseId, removed));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.skillforge.stats;
+
+import com.skillforge.dto.ScoreDistribution;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-size histogram of attempt scores in whole percent (101 bins, 0..100) plus the
+ * exact sum for the mean. Two sketches merge by adding their bins, so a topic or course
+ * distribution is the sum of its quizzes' sketches.
+ */
+final class ScoreSketch {
+
+    static final int BINS = 101;
+
+    private static final double[] PERCENTILES = { 0.10, 0.25, 0.50, 0.75, 0.90, 0.95, 0.99 };
+    private static final int HISTOGRAM_WIDTH = 10;
+
+    private final long[] counts = new long[BINS];
+    private long attempts;
+    private double ratioSum;
+
+    synchronized void add(int score, int totalQuestions) {
+        if (totalQuestions <= 0) {
+            return;
+        }
+        // Integer division: the same floor the database applies to the seed rows
+        counts[Math.max(0, Math.min(100 * score / totalQuestions, BINS - 1))]++;
+        attempts++;
+        ratioSum += (double) score / totalQuestions;
+    }
+
+    /** Seeds one bin from the database aggregate. */
+    synchronized void addBin(int bin, long count, double ratios) {
+        counts[Math.max(0, Math.min(bin, BINS - 1))] += count;
+        attempts += count;
+        ratioSum += ratios;
+    }
+
+    synchronized void mergeInto(ScoreSketch target) {
+        for (int i = 0; i < BINS; i++) {
+            target.counts[i] += counts[i];
+        }
+        target.attempts += attempts;
+        target.ratioSum += ratioSum;
+    }
+
+    /** Caller owns the sketch (a merged copy) or holds its lock. */
+    ScoreDistribution describe(String scope, Long id) {
+        if (attempts == 0) {
+            return new ScoreDistribution(scope, id, 0, null, Map.of(), List.of());
+        }
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (double q : PERCENTILES) {
+            percentiles.put("p" + Math.round(q * 100), round(percentile(q)));
+        }
+        List<ScoreDistribution.Bin> histogram = new ArrayList<>();
+        for (int from = 0; from < 100; from += HISTOGRAM_WIDTH) {
+            int to = from + HISTOGRAM_WIDTH;
+            long count = 0;
+            // The last bin is closed: it also holds the perfect scores
+            for (int b = from; b < (to == 100 ? BINS : to); b++) {
+                count += counts[b];
+            }
+            histogram.add(new ScoreDistribution.Bin(from, to, count));
+        }
+        return new ScoreDistribution(scope, id, attempts, round(100 * ratioSum / attempts), percentiles, histogram);
+    }
+
+    synchronized ScoreDistribution describeLocked(String scope, Long id) {
+        return describe(scope, id);
+    }
+
+    // Linear interpolation inside the 1% bin that holds the q-th attempt
+    private double percentile(double q) {
+        double target = q * attempts;
+        long before = 0;
+        for (int b = 0; b < BINS; b++) {
+            if (counts[b] > 0 && before + counts[b] >= target) {
+                double within = (target - before) / counts[b];
+                return Math.min(100, b + (b == BINS - 1 ? 0 : within));
+            }
+            before += counts[b];
+        }
+        return 100;
+    }
+
+    private static double round(double percent) {
+        return Math.round(percent * 10) / 10.0;
+    }
+}
@@ -0,0 +1,200 @@
+package com.skillforge.stats;
+
+import com.skillforge.cache.CatalogSnapshot;
+import com.skillforge.dto.ScoreBinCount;
+import com.skillforge.dto.ScoreDistribution;
+import com.skillforge.dto.SubjectSummary;
+import com.skillforge.dto.TopicSummary;
+import com.skillforge.event.AttemptsRecordedEvent;
+import com.skillforge.event.CatalogChangedEvent;
+import com.skillforge.event.QuizChangedEvent;
+import com.skillforge.repository.QuizAttemptRepository;
+import com.skillforge.service.GradedAttempt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Score distributions per quiz, rolled up to topic and course.
+ *
+ * Each quiz has one ScoreSketch, seeded from a GROUP BY over quiz_attempts once the
+ * application is ready and advanced by AttemptsRecordedEvent. Topic and course
+ * distributions merge the sketches of their quizzes at read time (course -> subjects ->
+ * topics from the CatalogSnapshot), so their cost grows with the number of quizzes, not
+ * attempts. Deleting quizzes marks the sketches for a full re-seed, like the leaderboards;
+ * a failed seed is retried on the same schedule.
+ */
+@Component
+public class ScoreStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoreStatistics.class);
+
+    /** Replaced wholesale by a re-seed. */
+    private static final class Sketches {
+        final Map<Long, ScoreSketch> byQuiz = new ConcurrentHashMap<>();
+        final Map<Long, Set<Long>> quizzesByTopic = new ConcurrentHashMap<>();
+
+        ScoreSketch sketch(Long quizId, Long topicId) {
+            if (topicId != null) {
+                quizzesByTopic.computeIfAbsent(topicId, id -> ConcurrentHashMap.newKeySet()).add(quizId);
+            }
+            return byQuiz.computeIfAbsent(quizId, id -> new ScoreSketch());
+        }
+
+        void add(GradedAttempt attempt, Long topicId) {
+            sketch(attempt.quizId(), topicId).add(attempt.score(), attempt.total());
+        }
+    }
+
+    /** An attempt with the topic the event resolved for it. */
+    private record Recorded(GradedAttempt attempt, Long topicId) {}
+
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final CatalogSnapshot catalogSnapshot;
+    private final TransactionTemplate tx;
+
+    private final Object loadLock = new Object();
+    private final AtomicBoolean dirty = new AtomicBoolean(true);    // not seeded yet
+    private volatile Sketches sketches = new Sketches();
+    private List<Recorded> recordedDuringLoad;      // guarded by loadLock; non-null while seeding
+
+    public ScoreStatistics(QuizAttemptRepository quizAttemptRepository,
+                           CatalogSnapshot catalogSnapshot,
+                           PlatformTransactionManager transactionManager) {
+        this.quizAttemptRepository = quizAttemptRepository;
+        this.catalogSnapshot = catalogSnapshot;
+        // Read-write on purpose: the seed must come from the primary, not a lagging replica
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    public ScoreDistribution forQuiz(Long quizId) {
+        ScoreSketch sketch = sketches.byQuiz.get(quizId);
+        return sketch == null
+                ? new ScoreSketch().describe("quiz", quizId)
+                : sketch.describeLocked("quiz", quizId);
+    }
+
+    public ScoreDistribution forTopic(Long topicId) {
+        ScoreSketch merged = new ScoreSketch();
+        mergeTopic(sketches, topicId, merged);
+        return merged.describe("topic", topicId);
+    }
+
+    public ScoreDistribution forCourse(Long courseId) {
+        Sketches current = sketches;
+        ScoreSketch merged = new ScoreSketch();
+        for (SubjectSummary subject : catalogSnapshot.subjectsByCourse(courseId)) {
+            for (TopicSummary topic : catalogSnapshot.topicsBySubject(subject.id())) {
+                mergeTopic(current, topic.id(), merged);
+            }
+        }
+        return merged.describe("course", courseId);
+    }
+
+    private static void mergeTopic(Sketches current, Long topicId, ScoreSketch target) {
+        for (Long quizId : current.quizzesByTopic.getOrDefault(topicId, Set.of())) {
+            ScoreSketch sketch = current.byQuiz.get(quizId);
+            if (sketch != null) {
+                sketch.mergeInto(target);
+            }
+        }
+    }
+
+    // ===============================
+    // UPDATES
+    // ===============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttemptsRecorded(AttemptsRecordedEvent event) {
+        List<Recorded> recorded = new ArrayList<>(event.attempts().size());
+        for (GradedAttempt attempt : event.attempts()) {
+            recorded.add(new Recorded(attempt, event.topicOf(attempt.quizId())));
+        }
+        synchronized (loadLock) {
+            if (recordedDuringLoad != null) {
+                recordedDuringLoad.addAll(recorded);
+            }
+            // The current sketches keep counting until a seed replaces them
+            Sketches current = sketches;
+            recorded.forEach(r -> current.add(r.attempt(), r.topicId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        if (event.removed()) {
+            dirty.set(true);
+        }
+    }
+
+    // Course deletes remove quizzes with bulk statements: their sketches must go too
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.removed() && event.type() != CatalogChangedEvent.Type.MATERIAL) {
+            dirty.set(true);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        seedIfDirty();
+    }
+
+    @Scheduled(fixedDelayString = "${stats.reseed-delay-ms:5000}")
+    public void seedIfDirty() {
+        if (dirty.getAndSet(false)) {
+            try {
+                seed();
+            } catch (RuntimeException e) {
+                dirty.set(true);
+                log.warn("Score sketch seed failed, retrying later", e);
+            }
+        }
+    }
+
+    /**
+     * Builds fresh sketches from the aggregate, then adds the attempts recorded meanwhile
+     * that the aggregate did not already count (checked by id in the same transaction)
+     * and swaps them in.
+     */
+    private void seed() {
+        long started = System.currentTimeMillis();
+        synchronized (loadLock) {
+            recordedDuringLoad = new ArrayList<>();
+        }
+        Sketches fresh = new Sketches();
+        try {
+            tx.executeWithoutResult(status -> {
+                for (ScoreBinCount row : quizAttemptRepository.findScoreBins()) {
+                    fresh.sketch(row.quizId(), row.topicId())
+                            .addBin(row.bin().intValue(), row.count(), row.ratioSum().doubleValue());
+                }
+                synchronized (loadLock) {
+                    List<Long> ids = recordedDuringLoad.stream().map(r -> r.attempt().attemptId()).toList();
+                    Set<Long> counted = ids.isEmpty() ? Set.of() : new HashSet<>(quizAttemptRepository.findExistingIds(ids));
+                    for (Recorded r : recordedDuringLoad) {
+                        if (!counted.contains(r.attempt().attemptId())) {
+                            fresh.add(r.attempt(), r.topicId());
+                        }
+                    }
+                    sketches = fresh;
+                }
+            });
+        } finally {
+            synchronized (loadLock) {
+                recordedDuringLoad = null;
+            }
+        }
+        log.info("Score sketches loaded for {} quizzes in {} ms", fresh.byQuiz.size(), System.currentTimeMillis() - started);
+    }
+}
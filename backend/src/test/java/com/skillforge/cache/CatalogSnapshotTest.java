@@ -0,0 +1,85 @@
+package com.skillforge.cache;
+
+import com.skillforge.dto.TopicSummary;
+import com.skillforge.event.CatalogChangedEvent;
+import com.skillforge.repository.CourseRepository;
+import com.skillforge.repository.MaterialRepository;
+import com.skillforge.repository.SubjectRepository;
+import com.skillforge.repository.TopicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Incremental updates splice changed rows into the snapshot; the result must match a
+ * full rebuild, and groups no change touched are shared with the previous version.
+ */
+class CatalogSnapshotTest {
+
+    private final TopicRepository topicRepository = mock(TopicRepository.class);
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new CatalogSnapshot(mock(CourseRepository.class), mock(SubjectRepository.class),
+                topicRepository, mock(MaterialRepository.class), mock(PlatformTransactionManager.class));
+        when(topicRepository.findAllSummaries()).thenReturn(List.of(
+                topic(1, 10), topic(2, 20), topic(3, 10), topic(5, 20), topic(8, 40)));
+        snapshot.rebuild();
+    }
+
+    @Test
+    void topicChangesAreSplicedIntoRowsAndGroups() {
+        List<TopicSummary> untouched = snapshot.topicsBySubject(40L);
+
+        // Moved to another subject
+        change(3, Optional.of(topic(3, 20)));
+        // New, between existing ids, in a new subject
+        change(4, Optional.of(topic(4, 30)));
+        // Removed
+        change(5, Optional.empty());
+        // New, after every existing id
+        change(9, Optional.of(topic(9, 10)));
+
+        assertThat(snapshot.topics()).extracting(TopicSummary::id).containsExactly(1L, 2L, 3L, 4L, 8L, 9L);
+        assertThat(snapshot.topicsBySubject(10L)).extracting(TopicSummary::id).containsExactly(1L, 9L);
+        assertThat(snapshot.topicsBySubject(20L)).extracting(TopicSummary::id).containsExactly(2L, 3L);
+        assertThat(snapshot.topicsBySubject(30L)).extracting(TopicSummary::id).containsExactly(4L);
+        assertThat(snapshot.topicsBySubject(40L)).isSameAs(untouched);
+        assertThat(snapshot.topic(3L)).get().extracting(TopicSummary::subjectId).isEqualTo(20L);
+        assertThat(snapshot.topic(5L)).isEmpty();
+        assertThat(snapshot.topicPage(null, 2).items()).extracting(TopicSummary::id).containsExactly(1L, 2L);
+
+        // Same catalog as a full reload of the final rows
+        List<TopicSummary> incremental = snapshot.topics();
+        when(topicRepository.findAllSummaries()).thenReturn(List.copyOf(incremental));
+        snapshot.rebuild();
+        assertThat(snapshot.topics()).isEqualTo(incremental);
+        assertThat(snapshot.topicsBySubject(20L)).extracting(TopicSummary::id).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void removingTheLastMemberDropsTheGroup() {
+        change(8, Optional.empty());
+
+        assertThat(snapshot.topicsBySubject(40L)).isEmpty();
+        assertThat(snapshot.topics()).extracting(TopicSummary::id).containsExactly(1L, 2L, 3L, 5L);
+    }
+
+    private void change(long id, Optional<TopicSummary> row) {
+        when(topicRepository.findSummaryById(id)).thenReturn(row);
+        snapshot.onCatalogChanged(CatalogChangedEvent.topic(id, row.map(TopicSummary::subjectId).orElse(null),
+                null, row.isEmpty()));
+    }
+
+    private static TopicSummary topic(long id, long subjectId) {
+        return new TopicSummary(id, "Topic " + id, "LESSON", subjectId, "Subject " + subjectId);
+    }
+}
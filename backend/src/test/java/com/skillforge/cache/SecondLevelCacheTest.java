@@ -0,0 +1,110 @@
+package com.skillforge.cache;
+
+import com.skillforge.config.H2Compatibility;
+import com.skillforge.model.Question;
+import com.skillforge.model.Quiz;
+import com.skillforge.repository.QuizRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A repeated catalog read is answered by the second-level and query caches: the
+ * second identical read prepares no statement at all.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(H2Compatibility.class)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void repeatedQuizByDisplayIdIssuesNoSql() throws InterruptedException {
+        Quiz quiz = saveQuiz(9001L, 3);
+
+        readQuizWithQuestions(quiz.getDisplayId());
+        long prepared = statistics.getPrepareStatementCount();
+        List<String> texts = readQuizWithQuestions(quiz.getDisplayId());
+
+        assertThat(texts).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(prepared);
+    }
+
+    @Test
+    void repeatedQuizzesByTopicIssuesNoSql() throws InterruptedException {
+        saveQuiz(9002L, 1);
+        saveQuiz(9002L, 2);
+
+        readQuizzesByTopic(9002L);
+        long prepared = statistics.getPrepareStatementCount();
+        List<String> titles = readQuizzesByTopic(9002L);
+
+        assertThat(titles).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(prepared);
+    }
+
+    private Quiz saveQuiz(Long topicId, int questionCount) throws InterruptedException {
+        Quiz saved = tx.execute(status -> {
+            Quiz quiz = new Quiz();
+            quiz.setTitle("Quiz for topic " + topicId);
+            quiz.setTopicId(topicId);
+            for (int i = 0; i < questionCount; i++) {
+                Question question = new Question();
+                question.setQuestionText("Question " + i);
+                question.setOptionA("a");
+                question.setOptionB("b");
+                question.setOptionC("c");
+                question.setOptionD("d");
+                question.setCorrectOption("A");
+                question.setQuiz(quiz);
+                quiz.getQuestions().add(question);
+            }
+            return quizRepository.save(quiz);
+        });
+        // Query results cached in the same millisecond as the table invalidation count as stale
+        Thread.sleep(5);
+        return saved;
+    }
+
+    private List<String> readQuizWithQuestions(String displayId) {
+        return tx.execute(status -> quizRepository.findByDisplayId(displayId).orElseThrow()
+                .getQuestions().stream()
+                .map(Question::getQuestionText)
+                .toList());
+    }
+
+    private List<String> readQuizzesByTopic(Long topicId) {
+        return tx.execute(status -> quizRepository.findByTopicId(topicId).stream()
+                .map(Quiz::getTitle)
+                .toList());
+    }
+}
@@ -0,0 +1,81 @@
+package com.skillforge.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Lets the application run on H2 in tests. The streaming queries ask Connector/J for
+ * a fetch size of Integer.MIN_VALUE, which H2 rejects; statements here ignore
+ * negative fetch sizes and H2 buffers as usual.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class H2Compatibility {
+
+    @Bean
+    static BeanPostProcessor ignoreStreamingFetchSize() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                        ? wrap(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    public static DataSource wrap(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return proxy(Connection.class, super.getConnection(), H2Compatibility::statements);
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return proxy(Connection.class, super.getConnection(username, password), H2Compatibility::statements);
+            }
+        };
+    }
+
+    private static Object statements(Object connection, Method method, Object[] args) throws Throwable {
+        Object result = invoke(connection, method, args);
+        return result instanceof Statement statement
+                ? proxy(method.getReturnType().asSubclass(Statement.class), statement, H2Compatibility::fetchSize)
+                : result;
+    }
+
+    private static Object fetchSize(Object statement, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("setFetchSize") && (int) args[0] < 0) {
+            return null;
+        }
+        return invoke(statement, method, args);
+    }
+
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        InvocationHandler invocation = (proxy, method, args) -> handler.handle(target, method, args);
+        return type.cast(Proxy.newProxyInstance(H2Compatibility.class.getClassLoader(), new Class<?>[] { type }, invocation));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.skillforge.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and a replica. Each holds a
+ * one-row table naming itself, so a read shows which pool served it.
+ */
+class ReplicaRoutingTest {
+
+    private static final long MAX_LAG_MS = 300;
+
+    private ReplicaRouting routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        HikariDataSource primary = pool("primary");
+        HikariDataSource replica = pool("replica");
+        routing = new ReplicaRouting(primary, List.of(replica), MAX_LAG_MS, null, new ConnectionHoldMetrics());
+
+        DataSource dataSource = routing.dataSource();
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        routing.close();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertThat(read(readOnly)).isEqualTo("replica");
+        assertThat(read(readWrite)).isEqualTo("primary");
+    }
+
+    @Test
+    void writerReadsFromThePrimaryForMaxLag() throws Exception {
+        logIn("student@example.com");
+        write();
+
+        // Same thread and user
+        assertThat(read(readOnly)).isEqualTo("primary");
+        // Same user on another request thread
+        assertThat(onOtherThread("student@example.com")).isEqualTo("primary");
+        // Anybody else is not affected
+        assertThat(onOtherThread("other@example.com")).isEqualTo("replica");
+
+        Thread.sleep(MAX_LAG_MS + 50);
+        assertThat(read(readOnly)).isEqualTo("replica");
+        assertThat(onOtherThread("student@example.com")).isEqualTo("replica");
+    }
+
+    @Test
+    void heldUserReadsFromThePrimaryUntilReleased() throws Exception {
+        logIn("student@example.com");
+        String held = routing.holdCurrentUser();
+
+        Thread.sleep(MAX_LAG_MS + 50);
+        assertThat(read(readOnly)).isEqualTo("primary");
+
+        routing.release(held);
+        assertThat(read(readOnly)).isEqualTo("primary");
+        Thread.sleep(MAX_LAG_MS + 50);
+        assertThat(read(readOnly)).isEqualTo("replica");
+    }
+
+    /** The name of the database that served a read in the given kind of transaction. */
+    private String read(TransactionTemplate tx) {
+        return tx.execute(status -> jdbc.queryForObject("SELECT name FROM server", String.class));
+    }
+
+    private void write() {
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE server SET writes = writes + 1"));
+    }
+
+    private String onOtherThread(String user) throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            logIn(user);
+            try {
+                return read(readOnly);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }).get();
+    }
+
+    private static void logIn(String user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private static HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID());
+        pool.setUsername("sa");
+        pool.setPassword("");
+        pool.setPoolName(name);
+        JdbcTemplate jdbc = new JdbcTemplate(pool);
+        jdbc.execute("CREATE TABLE server (name VARCHAR(20), writes INT)");
+        jdbc.update("INSERT INTO server VALUES (?, 0)", name);
+        return pool;
+    }
+}
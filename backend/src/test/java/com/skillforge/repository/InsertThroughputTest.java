@@ -0,0 +1,271 @@
+package com.skillforge.repository;
+
+import com.skillforge.config.H2Compatibility;
+import com.skillforge.dto.BulkImportResult;
+import com.skillforge.dto.SubjectRequestDTO;
+import com.skillforge.model.Course;
+import com.skillforge.model.Question;
+import com.skillforge.model.Quiz;
+import com.skillforge.model.User;
+import com.skillforge.service.SubjectService;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Table;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk question and subject inserts with the pooled table generators (ids known up
+ * front, JDBC batches of hibernate.jdbc.batch_size) against the same rows under
+ * IDENTITY, which needs one INSERT round trip per row. Subjects go through
+ * SubjectService.importAll, lookups and after-commit listeners included. Logs rows/s
+ * for each; the assertions are on the number of statements, which does not depend on
+ * the machine.
+ *
+ * H2 in memory has no network round trip, so the rows/s gap is much smaller here than
+ * against a MySQL server.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(H2Compatibility.class)
+class InsertThroughputTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InsertThroughputTest.class);
+
+    private static final int ROWS = 5000;
+
+    /** The question row as it was mapped before the pooled generators. */
+    @Entity
+    @Table(name = "identity_quiz_questions")
+    static class IdentityQuestion {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @Column(name = "quiz_id", nullable = false)
+        Long quizId;
+
+        @Column(nullable = false, columnDefinition = "TEXT")
+        String questionText;
+
+        String optionA;
+        String optionB;
+        String optionC;
+        String optionD;
+
+        @Column(length = 1)
+        String correctOption;
+    }
+
+    /** The subject row as it was mapped before the pooled generators. */
+    @Entity
+    @Table(name = "identity_subjects")
+    static class IdentitySubject {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @Column(nullable = false)
+        Long version = 0L;
+
+        @Column(nullable = false)
+        String name;
+
+        @Column(columnDefinition = "TEXT")
+        String description;
+
+        @Column(name = "course_id", nullable = false)
+        Long courseId;
+
+        @Column(name = "instructor_id", nullable = false)
+        Long instructorId;
+    }
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SubjectService subjectService;
+
+    @Test
+    void pooledIdsBatchQuestionInserts() {
+        Statistics statistics = statistics();
+
+        // Warm-up: JIT, statement caches and the first id blocks
+        insertIdentity(ROWS / 10);
+        insertPooled(ROWS / 10);
+
+        long identityStatements = statistics.getPrepareStatementCount();
+        long identityNanos = insertIdentity(ROWS);
+        identityStatements = statistics.getPrepareStatementCount() - identityStatements;
+
+        long pooledStatements = statistics.getPrepareStatementCount();
+        long pooledNanos = insertPooled(ROWS);
+        pooledStatements = statistics.getPrepareStatementCount() - pooledStatements;
+
+        log.info("IDENTITY: {} rows in {} ms, {} rows/s, {} statements",
+                ROWS, identityNanos / 1_000_000, rowsPerSecond(identityNanos), identityStatements);
+        log.info("pooled + batched: {} rows in {} ms, {} rows/s, {} statements",
+                ROWS, pooledNanos / 1_000_000, rowsPerSecond(pooledNanos), pooledStatements);
+
+        assertThat(identityStatements).isGreaterThanOrEqualTo(ROWS);
+        // The batches reuse one prepared INSERT (the id blocks are drawn on their own connection)
+        assertThat(pooledStatements).isLessThan(ROWS / 10);
+    }
+
+    @Test
+    void pooledIdsBatchSubjectImports() {
+        Statistics statistics = statistics();
+        long[] owner = new long[2];     // course id, instructor id
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User instructor = new User();
+            instructor.setName("Instructor");
+            instructor.setUsername("bulk-instructor");
+            instructor.setEmail("bulk-instructor@example.com");
+            instructor.setPassword("x");
+            instructor.setRole("INSTRUCTOR");
+            em.persist(instructor);
+            Course course = new Course();
+            course.setTitle("Bulk import");
+            course.setDifficulty("BEGINNER");
+            course.setDuration(1);
+            course.setInstructor(instructor);
+            em.persist(course);
+            owner[0] = course.getId();
+            owner[1] = instructor.getId();
+        });
+
+        insertIdentitySubjects(ROWS / 10, owner);
+        importSubjects(ROWS / 10, owner);
+
+        long identityStatements = statistics.getPrepareStatementCount();
+        long identityNanos = insertIdentitySubjects(ROWS, owner);
+        identityStatements = statistics.getPrepareStatementCount() - identityStatements;
+
+        long pooledStatements = statistics.getPrepareStatementCount();
+        long[] pooledNanos = importSubjects(ROWS, owner);
+        pooledStatements = statistics.getPrepareStatementCount() - pooledStatements;
+
+        log.info("subjects, IDENTITY: {} rows in {} ms, {} rows/s, {} statements",
+                ROWS, identityNanos / 1_000_000, rowsPerSecond(identityNanos), identityStatements);
+        log.info("subjects, importAll (pooled + batched): {} rows in {} ms, {} rows/s, {} statements; "
+                        + "{} ms of it in importAll, the rest in commit and the after-commit listeners",
+                ROWS, pooledNanos[0] / 1_000_000, rowsPerSecond(pooledNanos[0]), pooledStatements,
+                pooledNanos[1] / 1_000_000);
+
+        assertThat(identityStatements).isGreaterThanOrEqualTo(ROWS);
+        // One INSERT per flush of 50, the existence checks and the after-commit reads
+        assertThat(pooledStatements).isLessThan(ROWS / 10);
+    }
+
+    private Statistics statistics() {
+        return em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private long insertIdentitySubjects(int rows, long[] owner) {
+        return timed(rows, i -> {
+            IdentitySubject subject = new IdentitySubject();
+            subject.name = "Subject " + i;
+            subject.description = "";
+            subject.courseId = owner[0];
+            subject.instructorId = owner[1];
+            em.persist(subject);
+        }, null);
+    }
+
+    /** Whole transaction and the importAll call alone, in nanoseconds. */
+    private long[] importSubjects(int rows, long[] owner) {
+        List<SubjectRequestDTO> requests = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            SubjectRequestDTO request = new SubjectRequestDTO();
+            request.setName("Subject " + i);
+            request.setCourseId(owner[0]);
+            request.setInstructorId(owner[1]);
+            requests.add(request);
+        }
+        BulkImportResult[] result = new BulkImportResult[1];
+        long[] nanos = new long[2];
+        nanos[0] = timed(1, i -> {
+            long started = System.nanoTime();
+            result[0] = subjectService.importAll(requests);
+            nanos[1] = System.nanoTime() - started;
+        }, null);
+        assertThat(result[0].created()).isEqualTo(rows);
+        return nanos;
+    }
+
+    private long insertIdentity(int rows) {
+        return timed(rows, i -> {
+            IdentityQuestion question = new IdentityQuestion();
+            question.quizId = 1L;
+            question.questionText = "Question " + i;
+            question.optionA = "a";
+            question.optionB = "b";
+            question.optionC = "c";
+            question.optionD = "d";
+            question.correctOption = "A";
+            em.persist(question);
+        }, null);
+    }
+
+    private long insertPooled(int rows) {
+        Quiz[] quiz = new Quiz[1];
+        return timed(rows, i -> {
+            Question question = new Question();
+            question.setQuestionText("Question " + i);
+            question.setOptionA("a");
+            question.setOptionB("b");
+            question.setOptionC("c");
+            question.setOptionD("d");
+            question.setCorrectOption("A");
+            question.setQuiz(quiz[0]);
+            em.persist(question);
+        }, () -> {
+            quiz[0] = new Quiz();
+            quiz[0].setTitle("Bulk insert");
+            quiz[0].setTopicId(1L);
+            em.persist(quiz[0]);
+        });
+    }
+
+    // Like QuizService.generateAndSave: all rows in one transaction
+    private long timed(int rows, IntConsumer insert, Runnable before) {
+        long started = System.nanoTime();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (before != null) {
+                before.run();
+            }
+            for (int i = 0; i < rows; i++) {
+                insert.accept(i);
+            }
+        });
+        return System.nanoTime() - started;
+    }
+
+    private static long rowsPerSecond(long nanos) {
+        return ROWS * 1_000_000_000L / Math.max(nanos, 1);
+    }
+}
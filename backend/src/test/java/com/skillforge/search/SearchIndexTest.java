@@ -0,0 +1,71 @@
+package com.skillforge.search;
+
+import com.skillforge.dto.SearchDocument;
+import com.skillforge.dto.SearchHit;
+import com.skillforge.event.CatalogChangedEvent;
+import com.skillforge.event.CatalogChangedEvent.Type;
+import com.skillforge.repository.CourseRepository;
+import com.skillforge.repository.MaterialRepository;
+import com.skillforge.repository.SubjectRepository;
+import com.skillforge.repository.TopicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Ranking over a small catalog, and removal of a course together with everything
+ * indexed under it.
+ */
+class SearchIndexTest {
+
+    private final CourseRepository courseRepository = mock(CourseRepository.class);
+    private final SubjectRepository subjectRepository = mock(SubjectRepository.class);
+    private final TopicRepository topicRepository = mock(TopicRepository.class);
+    private final MaterialRepository materialRepository = mock(MaterialRepository.class);
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex(courseRepository, subjectRepository, topicRepository, materialRepository,
+                mock(PlatformTransactionManager.class));
+        when(courseRepository.streamSearchDocuments()).thenReturn(Stream.of(
+                new SearchDocument(1L, "Java basics", "Learn java"),
+                new SearchDocument(2L, "Python basics", "Learn python")));
+        when(subjectRepository.streamSearchDocuments()).thenReturn(Stream.of(
+                new SearchDocument(10L, 1L, "Java collections", null),
+                new SearchDocument(20L, 2L, "Python collections", null)));
+        when(topicRepository.streamSearchDocuments()).thenReturn(Stream.of(
+                new SearchDocument(100L, 10L, "Java maps", "HashMap and TreeMap")));
+        when(materialRepository.streamSearchDocuments()).thenReturn(Stream.of(
+                new SearchDocument(1000L, 100L, "Java maps cheat sheet", null)));
+        index.rebuild();
+    }
+
+    @Test
+    void ranksDocumentsMatchingMoreTerms() {
+        assertThat(index.search("java collections", Set.of(), 10))
+                .extracting(SearchHit::type, SearchHit::id)
+                .first().isEqualTo(tuple(Type.SUBJECT, 10L));
+        assertThat(index.search("collections", Set.of(Type.SUBJECT), 1)).hasSize(1);
+        assertThat(index.search("nothing", Set.of(), 10)).isEmpty();
+    }
+
+    @Test
+    void removingACourseRemovesItsDescendants() {
+        when(courseRepository.findSearchDocumentById(1L)).thenReturn(Optional.empty());
+        index.onCatalogChanged(CatalogChangedEvent.course(1L, true));
+
+        assertThat(index.search("java", Set.of(), 10)).isEmpty();
+        assertThat(index.search("python", Set.of(), 10)).extracting(SearchHit::id).containsExactlyInAnyOrder(2L, 20L);
+        assertThat(index.stats()).containsEntry("documents", 2);
+    }
+}
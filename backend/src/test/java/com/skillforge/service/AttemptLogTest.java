@@ -0,0 +1,250 @@
+package com.skillforge.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AttemptLogTest {
+
+    private static final long SEGMENT_BYTES = 1 << 20;
+
+    @TempDir
+    Path dir;
+
+    private final List<GradedAttempt> queued = new ArrayList<>();
+
+    @Test
+    void replayReturnsAppendedAttemptsAfterTheCheckpoint() throws IOException {
+        try (AttemptLog log = AttemptLog.open(dir, SEGMENT_BYTES, true)) {
+            assertThat(log.replay(0)).isEmpty();
+            for (int i = 1; i <= 3; i++) {
+                log.append(attempt(i), queued::add);
+            }
+        }
+        assertThat(queued).extracting(GradedAttempt::seq).containsExactly(1L, 2L, 3L);
+
+        try (AttemptLog log = AttemptLog.open(dir, SEGMENT_BYTES, true)) {
+            List<GradedAttempt> replayed = log.replay(1);
+            assertThat(replayed).extracting(GradedAttempt::seq).containsExactly(2L, 3L);
+            GradedAttempt second = replayed.get(0);
+            assertThat(second.userId()).isEqualTo(2);
+            assertThat(second.quizId()).isEqualTo(20);
+            assertThat(second.score()).isZero();
+            assertThat(second.timestamp()).isEqualTo(queued.get(1).timestamp());
+            assertThat(second.questionIds()).containsExactly(100, 101);
+            assertThat(second.chosen()).containsExactly('A', 'C');
+            assertThat(second.correct()).containsExactly(true, false);
+            // Sequence numbers continue after the replayed ones
+            assertThat(log.append(attempt(4), queued::add).seq()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void replayCutsOffATornTail() throws IOException {
+        try (AttemptLog log = AttemptLog.open(dir, SEGMENT_BYTES, true)) {
+            log.replay(0);
+            log.append(attempt(1), queued::add);
+            log.append(attempt(2), queued::add);
+        }
+        // Crash in the middle of the third record
+        Path segment = lastSegment();
+        long intact = Files.size(segment);
+        Files.write(segment, new byte[] { 0, 0, 0, 60, 1, 2, 3, 4, 5 }, StandardOpenOption.APPEND);
+
+        try (AttemptLog log = AttemptLog.open(dir, SEGMENT_BYTES, true)) {
+            assertThat(log.replay(0)).extracting(GradedAttempt::seq).containsExactly(1L, 2L);
+            assertThat(Files.size(segment)).isEqualTo(intact);
+            log.append(attempt(3), queued::add);
+        }
+        try (AttemptLog log = AttemptLog.open(dir, SEGMENT_BYTES, true)) {
+            assertThat(log.replay(0)).extracting(GradedAttempt::seq).containsExactly(1L, 2L, 3L);
+        }
+    }
+
+    @Test
+    void failedWriteIsNotQueuedAndLeavesNoTornRecord() throws IOException {
+        FailingSegments segments = new FailingSegments();
+        try (AttemptLog log = AttemptLog.open(dir, SEGMENT_BYTES, true, segments)) {
+            log.replay(0);
+            log.append(attempt(1), queued::add);
+
+            segments.failWrites = true;
+            assertThatThrownBy(() -> log.append(attempt(2), queued::add)).isInstanceOf(IOException.class);
+            assertThat(queued).hasSize(1);
+
+            segments.failWrites = false;
+            assertThat(log.append(attempt(3), queued::add).seq()).isEqualTo(2);
+        }
+        try (AttemptLog log = AttemptLog.open(dir, SEGMENT_BYTES, true)) {
+            assertThat(log.replay(0)).extracting(GradedAttempt::userId).containsExactly(1L, 3L);
+        }
+    }
+
+    @Test
+    void failedSyncStillHandsTheAttemptOver() throws IOException {
+        FailingSegments segments = new FailingSegments();
+        try (AttemptLog log = AttemptLog.open(dir, SEGMENT_BYTES, true, segments)) {
+            log.replay(0);
+
+            segments.failForce = true;
+            GradedAttempt appended = log.append(attempt(1), queued::add);
+            // Queued exactly once and acknowledged: the consumer now owns it
+            assertThat(queued).containsExactly(appended);
+
+            segments.failForce = false;
+            log.append(attempt(2), queued::add);
+            assertThat(segments.forced).isPositive();
+        }
+        try (AttemptLog log = AttemptLog.open(dir, SEGMENT_BYTES, true)) {
+            assertThat(log.replay(0)).extracting(GradedAttempt::seq).containsExactly(1L, 2L);
+        }
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).sorted()
+                    .reduce((first, second) -> second).orElseThrow();
+        }
+    }
+
+    private static GradedAttempt attempt(int n) {
+        return new GradedAttempt(0, null, n, n * 10L, n % 2, LocalDateTime.of(2026, 1, 1, 12, 0, n, 123_000),
+                new long[] { 100, 101 }, new byte[] { 'A', 'C' }, new boolean[] { true, false });
+    }
+
+    /** Segment files whose writes tear halfway or whose fsync fails while the flags are set. */
+    private static final class FailingSegments implements AttemptLog.Segments {
+        volatile boolean failWrites;
+        volatile boolean failForce;
+        int forced;
+
+        @Override
+        public FileChannel open(Path file) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            return new Delegating(channel);
+        }
+
+        private final class Delegating extends FileChannel {
+            private final FileChannel target;
+
+            Delegating(FileChannel target) {
+                this.target = target;
+            }
+
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                if (failWrites) {
+                    ByteBuffer half = src.duplicate();
+                    half.limit(src.position() + src.remaining() / 2);
+                    target.write(half);
+                    throw new IOException("disk full");
+                }
+                return target.write(src);
+            }
+
+            @Override
+            public void force(boolean metaData) throws IOException {
+                if (failForce) {
+                    throw new IOException("fsync failed");
+                }
+                forced++;
+                target.force(metaData);
+            }
+
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                return target.read(dst);
+            }
+
+            @Override
+            public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+                return target.read(dsts, offset, length);
+            }
+
+            @Override
+            public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+                return target.write(srcs, offset, length);
+            }
+
+            @Override
+            public long position() throws IOException {
+                return target.position();
+            }
+
+            @Override
+            public FileChannel position(long newPosition) throws IOException {
+                target.position(newPosition);
+                return this;
+            }
+
+            @Override
+            public long size() throws IOException {
+                return target.size();
+            }
+
+            @Override
+            public FileChannel truncate(long size) throws IOException {
+                target.truncate(size);
+                return this;
+            }
+
+            @Override
+            public long transferTo(long position, long count, WritableByteChannel to) throws IOException {
+                return target.transferTo(position, count, to);
+            }
+
+            @Override
+            public long transferFrom(ReadableByteChannel from, long position, long count) throws IOException {
+                return target.transferFrom(from, position, count);
+            }
+
+            @Override
+            public int read(ByteBuffer dst, long position) throws IOException {
+                return target.read(dst, position);
+            }
+
+            @Override
+            public int write(ByteBuffer src, long position) throws IOException {
+                return target.write(src, position);
+            }
+
+            @Override
+            public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+                return target.map(mode, position, size);
+            }
+
+            @Override
+            public FileLock lock(long position, long size, boolean shared) throws IOException {
+                return target.lock(position, size, shared);
+            }
+
+            @Override
+            public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+                return target.tryLock(position, size, shared);
+            }
+
+            @Override
+            protected void implCloseChannel() throws IOException {
+                target.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.skillforge.service;
+
+import com.skillforge.dto.ItemAnalysis;
+import com.skillforge.dto.ItemStats;
+import com.skillforge.event.AttemptsRecordedEvent;
+import com.skillforge.repository.QuizAttemptRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A blueprint quiz has no answer key of its own; its items are the frozen candidates,
+ * and each student's draw lands on them in a different order.
+ */
+class ItemStatisticsTest {
+
+    private static final long QUIZ = 7L;
+
+    private final QuizGrader quizGrader = mock(QuizGrader.class);
+    private final QuestionBank questionBank = mock(QuestionBank.class);
+    private final QuizAttemptRepository quizAttemptRepository = mock(QuizAttemptRepository.class);
+    private final ItemStatistics statistics = new ItemStatistics(quizGrader, questionBank,
+            quizAttemptRepository, mock(PlatformTransactionManager.class));
+
+    @Test
+    void blueprintItemsAreItsCandidates() {
+        when(questionBank.isBlueprint(QUIZ)).thenReturn(true);
+        when(questionBank.candidateIds(QUIZ)).thenReturn(Optional.of(new long[] { 11, 12, 13, 14 }));
+        when(quizAttemptRepository.findItemTotals(any(), anyList())).thenReturn(List.of());
+
+        assertThat(statistics.analyze(QUIZ)).get().extracting(ItemAnalysis::attempts).isEqualTo(0L);
+        verify(quizGrader, never()).answerKey(any());
+
+        statistics.onAttemptsRecorded(new AttemptsRecordedEvent(List.of(
+                attempt(1, new long[] { 13, 11 }, new byte[] { 2, 0 }, new boolean[] { true, false }),
+                attempt(2, new long[] { 11, 14 }, new byte[] { 1, QuizGrader.UNANSWERED }, new boolean[] { true, false })),
+                Map.of()));
+
+        ItemAnalysis analysis = statistics.analyze(QUIZ).orElseThrow();
+        assertThat(analysis.attempts()).isEqualTo(2);
+        assertThat(analysis.items()).extracting(ItemStats::questionId).containsExactly(11L, 12L, 13L, 14L);
+        assertThat(analysis.items()).extracting(ItemStats::answered).containsExactly(2L, 0L, 1L, 1L);
+        ItemStats first = analysis.items().get(0);
+        assertThat(first.difficulty()).isEqualTo(0.5);
+        assertThat(first.options()).containsEntry("A", 1L).containsEntry("B", 1L);
+        assertThat(analysis.items().get(3).options()).containsEntry("none", 1L);
+    }
+
+    @Test
+    void quizWithoutQuestionsHasNoAnalysis() {
+        when(quizGrader.answerKey(QUIZ)).thenReturn(Optional.empty());
+
+        assertThat(statistics.analyze(QUIZ)).isEmpty();
+    }
+
+    private static GradedAttempt attempt(long id, long[] questionIds, byte[] chosen, boolean[] correct) {
+        int score = 0;
+        for (boolean c : correct) {
+            score += c ? 1 : 0;
+        }
+        return new GradedAttempt(0, id, 100 + id, QUIZ, score, LocalDateTime.now(), questionIds, chosen, correct);
+    }
+}
@@ -36,7 +36,7 @@ const TopicsPage = () => {
 
     try {
       const [courseRes, topicRes] = await Promise.all([
-        api.get("/courses"),
+        api.get("/courses?include=subjects"),
         api.get("/topics"),
       ]);
       setCourses(courseRes.data);
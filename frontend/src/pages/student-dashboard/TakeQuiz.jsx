@@ -3,6 +3,8 @@ import { useParams, useNavigate } from "react-router-dom";
 import api from "../../services/api";
 import "bootstrap/dist/css/bootstrap.min.css";
 
+const OPTION_LETTERS = ["A", "B", "C", "D"];
+
 const TakeQuiz = () => {
   const { displayId } = useParams();
   const navigate = useNavigate();
@@ -31,6 +33,7 @@ const TakeQuiz = () => {
       try {
         setLoading(true);
         setError(null);
+        // Randomized quizzes are assembled for the logged-in student on the server
         const res = await api.get(`/quizzes/public/${displayId}`);
         setQuiz(res.data);
       } catch (err) {
@@ -69,25 +72,32 @@ const TakeQuiz = () => {
 
   const handleSubmit = async () => {
     setIsFinished(true);
-    let score = 0;
 
-    quiz.questions.forEach((q, index) => {
-      if (selectedAnswers[index] === q.correctAnswer) {
-        score++;
+    // Only the chosen letters are sent; the server grades against its answer key
+    const submission = {
+      quizId: quiz.id,
+      answers: quiz.questions.map((q, index) => selectedAnswers[index] ?? null),
+      // Lets the server detect a randomized quiz whose question bank changed meanwhile
+      questionIds: quiz.questions.map((q) => q.id),
+    };
+    // 503 = server busy (deadline rush): retry a few times with a growing delay
+    for (let attempt = 1; ; attempt++) {
+      try {
+        await api.post("/quizzes/submit-attempt", submission);
+        navigate("/student-dashboard");
+        return;
+      } catch (err) {
+        if (err.response?.status === 409) {
+          alert("This quiz was updated while you were taking it. Please start it again.");
+          navigate("/student/lobby");
+          return;
+        }
+        if (err.response?.status !== 503 || attempt === 5) {
+          console.error("Submission error:", err);
+          return;
+        }
+        await new Promise((resolve) => setTimeout(resolve, attempt * 1000));
       }
-    });
-
-    try {
-      await api.post("/quizzes/submit-attempt", {
-        userId: localStorage.getItem("userId"),
-        quizId: quiz.id,
-        score: score,
-        totalQuestions: quiz.questions.length,
-        timestamp: new Date().toISOString(),
-      });
-      navigate("/student-dashboard");
-    } catch (err) {
-      console.error("Submission error:", err);
     }
   };
 
@@ -116,6 +126,12 @@ const TakeQuiz = () => {
   if (!quiz) return <div className="text-center mt-5">Quiz not found.</div>;
 
   const currentQuestion = quiz.questions[currentQuestionIndex];
+  const options = [
+    currentQuestion.optionA,
+    currentQuestion.optionB,
+    currentQuestion.optionC,
+    currentQuestion.optionD,
+  ];
   const progress = ((currentQuestionIndex + 1) / quiz.questions.length) * 100;
 
   return (
@@ -148,18 +164,18 @@ const TakeQuiz = () => {
             <p className="text-muted small">
               Question {currentQuestionIndex + 1} of {quiz.questions.length}
             </p>
-            <h5 className="mb-4 fw-bold">{currentQuestion.text}</h5>
+            <h5 className="mb-4 fw-bold">{currentQuestion.questionText}</h5>
 
             <div className="d-grid gap-3">
-              {currentQuestion.options.map((option, idx) => (
+              {options.map((option, idx) => (
                 <button
                   key={idx}
                   className={`btn text-start p-3 border-2 ${
-                    selectedAnswers[currentQuestionIndex] === option
+                    selectedAnswers[currentQuestionIndex] === OPTION_LETTERS[idx]
                       ? "btn-primary border-primary"
                       : "btn-outline-secondary border-light bg-light text-dark"
                   }`}
-                  onClick={() => handleOptionSelect(option)}
+                  onClick={() => handleOptionSelect(OPTION_LETTERS[idx])}
                 >
                   {option}
                 </button>